@@ -0,0 +1,70 @@
+package com.comparcar.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// AIMD concurrency limit: grows by one per limit's worth of fast responses, shrinks by 10% when
+// a response is slower than the target latency or fails with a server error. Like TCP, it shrinks
+// at most once per round trip: only requests started after the previous decrease can trigger the
+// next one, so a burst of slow completions from one stall counts once.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double estimatedLimit;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int concurrency = inFlight.getAndDecrement();
+        long now = System.nanoTime();
+        synchronized (this) {
+            if (failed || latencyNanos > targetLatencyNanos) {
+                if (!backedOff || now - latencyNanos - lastBackoffNanos >= 0) {
+                    estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+                    backedOff = true;
+                    lastBackoffNanos = now;
+                }
+            } else if (concurrency * 2 >= limit) {
+                // Only grow while the current limit is actually being used
+                estimatedLimit = Math.min(maxLimit, estimatedLimit + 1.0 / estimatedLimit);
+            }
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
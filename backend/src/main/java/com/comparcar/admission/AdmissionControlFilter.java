@@ -0,0 +1,157 @@
+package com.comparcar.admission;
+
+import com.comparcar.config.AdmissionControlProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Rejects requests before they take a DB connection once their endpoint lane is at its concurrency limit
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LISTING_PARAMETERS = Set.of("page", "size", "sortBy", "sortDirection", "fields", "countMode");
+    private static final int MAX_INTERACTIVE_PAGE_SIZE = 100;
+
+    private final AdmissionControlProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<EndpointLane, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointLane.class);
+    private final AtomicInteger totalInFlight = new AtomicInteger();
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper) {
+        if (properties.getSharedCapacity() >= properties.getConnectionPoolSize()) {
+            throw new IllegalStateException("comparcar.admission.shared-capacity (" + properties.getSharedCapacity()
+                    + ") must stay below the connection pool size (" + properties.getConnectionPoolSize()
+                    + ") to keep connections free for lookups and writes");
+        }
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        for (EndpointLane lane : EndpointLane.values()) {
+            AdmissionControlProperties.Lane settings = properties.getLane(lane);
+            limiters.put(lane, new AdaptiveConcurrencyLimiter(
+                    settings.getInitialLimit(),
+                    settings.getMinLimit(),
+                    settings.getMaxLimit(),
+                    settings.getTargetLatency().toNanos()));
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter(EndpointLane lane) {
+        return limiters.get(lane);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        EndpointLane lane = classify(request);
+        if (lane == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = limiters.get(lane);
+        // Counted before the check, so concurrent admissions cannot overshoot the shared capacity
+        int inFlight = totalInFlight.incrementAndGet();
+        if (!lane.isPriority() && inFlight > properties.getSharedCapacity()) {
+            totalInFlight.decrementAndGet();
+            reject(response, lane, "Server is busy, " + lane.name().toLowerCase() + " requests are temporarily shed");
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            totalInFlight.decrementAndGet();
+            reject(response, lane, "Too many concurrent " + lane.name().toLowerCase() + " requests");
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            totalInFlight.decrementAndGet();
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    EndpointLane classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/analytics")) {
+            return classifyAnalytics(request, path);
+        }
+        if (!path.startsWith("/cars") && !path.startsWith("/saved-searches")) {
+            return null;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointLane.WRITE;
+        }
+        if (path.equals("/cars/all")) {
+            return EndpointLane.BULK;
+        }
+        if (path.equals("/cars") || path.equals("/cars/")) {
+            return isWideListing(request) ? EndpointLane.BULK : EndpointLane.QUERY;
+        }
+        if (path.equals("/saved-searches")) {
+            return EndpointLane.QUERY;
+        }
+        return EndpointLane.LOOKUP;
+    }
+
+    // Rebuilding the snapshot streams the whole catalog, aggregates scan the mapped snapshot
+    private EndpointLane classifyAnalytics(HttpServletRequest request, String path) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointLane.BULK;
+        }
+        return path.equals("/analytics/aggregates") ? EndpointLane.QUERY : EndpointLane.LOOKUP;
+    }
+
+    // Unfiltered listings sorted on anything but the primary key, or pages too large to be interactive
+    private boolean isWideListing(HttpServletRequest request) {
+        String size = request.getParameter("size");
+        try {
+            if (size != null && Integer.parseInt(size) > MAX_INTERACTIVE_PAGE_SIZE) {
+                return true;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        boolean filtered = request.getParameterMap().entrySet().stream()
+                .anyMatch(parameter -> !LISTING_PARAMETERS.contains(parameter.getKey())
+                        && parameter.getValue().length > 0
+                        && !parameter.getValue()[0].isBlank());
+        String sortBy = request.getParameter("sortBy");
+        return !filtered && sortBy != null && !sortBy.equals("id");
+    }
+
+    private void reject(HttpServletResponse response, EndpointLane lane, String message) throws IOException {
+        long retryAfter = Math.max(1, properties.getLane(lane).getRetryAfter().toSeconds());
+        log.debug("Shedding {} request, limit {}, in flight {}", lane, limiters.get(lane).getLimit(), totalInFlight.get());
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "message", message,
+                "status", "SERVICE_UNAVAILABLE"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.comparcar.admission;
+
+public enum EndpointLane {
+    // Single car lookups and reference data
+    LOOKUP(true),
+    // POST, PUT and DELETE
+    WRITE(true),
+    // Filtered, paginated listings and snapshot aggregates
+    QUERY(false),
+    // /cars/all, unfiltered wide sorts, oversized pages and snapshot rebuilds
+    BULK(false);
+
+    private final boolean priority;
+
+    EndpointLane(boolean priority) {
+        this.priority = priority;
+    }
+
+    // Priority lanes are never shed because of load in other lanes
+    public boolean isPriority() {
+        return priority;
+    }
+}
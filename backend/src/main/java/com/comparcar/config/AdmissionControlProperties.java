@@ -0,0 +1,38 @@
+package com.comparcar.config;
+
+import com.comparcar.admission.EndpointLane;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "comparcar.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    // JDBC connections the lanes compete for, bound to spring.datasource.hikari.maximum-pool-size
+    private int connectionPoolSize = 10;
+
+    // Total in-flight requests above which non-priority lanes are shed. Below the connection pool,
+    // so query and bulk requests never hold the connections lookups and writes need
+    private int sharedCapacity = 6;
+
+    private Map<EndpointLane, Lane> lanes = new EnumMap<>(EndpointLane.class);
+
+    public Lane getLane(EndpointLane lane) {
+        return lanes.getOrDefault(lane, new Lane());
+    }
+
+    @Data
+    public static class Lane {
+        private int initialLimit = 20;
+        private int minLimit = 2;
+        private int maxLimit = 100;
+        private Duration targetLatency = Duration.ofMillis(250);
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
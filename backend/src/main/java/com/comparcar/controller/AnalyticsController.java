@@ -0,0 +1,44 @@
+package com.comparcar.controller;
+
+import com.comparcar.dto.AggregateDto;
+import com.comparcar.dto.SnapshotInfoDto;
+import com.comparcar.service.CarSnapshotService;
+import com.comparcar.snapshot.SnapshotDimension;
+import com.comparcar.snapshot.SnapshotMeasure;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final CarSnapshotService carSnapshotService;
+
+    @PostMapping("/snapshot")
+    public ResponseEntity<SnapshotInfoDto> createSnapshot() {
+        return new ResponseEntity<>(carSnapshotService.refresh(), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/snapshot")
+    public ResponseEntity<SnapshotInfoDto> getSnapshot() {
+        return carSnapshotService.getSnapshotInfo()
+                .map(info -> new ResponseEntity<>(info, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    // Computed from the latest snapshot, e.g. /analytics/aggregates?groupBy=bodyType&measure=price
+    @GetMapping("/aggregates")
+    public ResponseEntity<List<AggregateDto>> getAggregates(
+            @RequestParam String groupBy,
+            @RequestParam(defaultValue = "price") String measure) {
+        List<AggregateDto> aggregates = carSnapshotService.aggregate(
+                SnapshotDimension.fromString(groupBy), SnapshotMeasure.fromString(measure));
+        return new ResponseEntity<>(aggregates, HttpStatus.OK);
+    }
+}
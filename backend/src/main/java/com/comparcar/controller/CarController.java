@@ -2,16 +2,22 @@ package com.comparcar.controller;
 
 import com.comparcar.dto.CarDto;
 import com.comparcar.dto.CarFilterDto;
+import com.comparcar.dto.CountMode;
+import com.comparcar.dto.PageResponseDto;
 import com.comparcar.mapper.CarDtoMapper;
 import com.comparcar.model.BodyType;
 import com.comparcar.model.Car;
+import com.comparcar.model.CarField;
 import com.comparcar.model.FuelType;
+import com.comparcar.service.CarCountCache;
 import com.comparcar.service.CarService;
+import com.comparcar.service.RequestCoalescer;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +33,9 @@ public class CarController {
     
     private final CarService carService;
     private final CarDtoMapper carDtoMapper;
+    private final RequestCoalescer requestCoalescer;
+    private final CarCountCache carCountCache;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     public ResponseEntity<CarDto> createCar(@Valid @RequestBody CarDto carDto) {
@@ -67,8 +76,8 @@ public class CarController {
         }
     }
     
-    @GetMapping
-    public ResponseEntity<Page<CarDto>> getCarsWithFilters(
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCarsWithFilters(
             @RequestParam(required = false) String model,
             @RequestParam(required = false) Integer manufacturingYearFrom,
             @RequestParam(required = false) Integer manufacturingYearTo,
@@ -89,7 +98,9 @@ public class CarController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "exact") String countMode) {
         
         CarFilterDto filterDto = new CarFilterDto();
         filterDto.setModel(model);
@@ -113,15 +124,24 @@ public class CarController {
         filterDto.setSize(size);
         filterDto.setSortBy(sortBy);
         filterDto.setSortDirection(Sort.Direction.fromString(sortDirection));
+        filterDto.setFields(CarField.parse(fields));
+        filterDto.setCountMode(CountMode.fromString(countMode));
         
-        Page<Car> cars = carService.getCarsWithFilters(filterDto);
-        Page<CarDto> carDtos = cars.map(carDtoMapper::toDto);
-        return new ResponseEntity<>(carDtos, HttpStatus.OK);
+        // Identical concurrent requests share one query and its serialized response. The write generation
+        // keeps a request sent after a committed write from joining a query that started before it
+        byte[] body = requestCoalescer.execute(List.of(carCountCache.generation(), filterDto.queryKey()), () -> {
+            PageResponseDto<Car> cars = carService.getCarsWithFilters(filterDto);
+            PageResponseDto<CarDto> carDtos = cars.map(carDtoMapper::toDto);
+            return objectMapper.writeValueAsBytes(carDtos);
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
     
     @GetMapping("/all")
-    public ResponseEntity<List<CarDto>> getAllCars() {
-        List<Car> cars = carService.getAllCars();
+    public ResponseEntity<List<CarDto>> getAllCars(@RequestParam(required = false) String fields) {
+        List<Car> cars = carService.getAllCars(CarField.parse(fields));
         List<CarDto> carDtos = cars.stream()
                 .map(carDtoMapper::toDto)
                 .toList();
@@ -0,0 +1,48 @@
+package com.comparcar.controller;
+
+import com.comparcar.dto.CarPartitionDto;
+import com.comparcar.model.FuelType;
+import com.comparcar.service.CarPartitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+// Runs DDL and TRUNCATE, so it is only exposed when explicitly enabled on an instance
+@RestController
+@RequestMapping("/admin/partitions")
+@Profile("partitioned")
+@ConditionalOnProperty(name = "comparcar.admin.partitions-enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CarPartitionController {
+
+    private final CarPartitionService carPartitionService;
+
+    @GetMapping
+    public ResponseEntity<List<CarPartitionDto>> getPartitions() {
+        return new ResponseEntity<>(carPartitionService.getPartitions(), HttpStatus.OK);
+    }
+
+    @PostMapping("/{fuelType}/staging")
+    public ResponseEntity<Map<String, String>> createStagingTable(@PathVariable FuelType fuelType) {
+        String staging = carPartitionService.createStagingTable(fuelType);
+        return new ResponseEntity<>(Map.of("stagingTable", staging), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{fuelType}/swap")
+    public ResponseEntity<Void> replacePartition(@PathVariable FuelType fuelType) {
+        carPartitionService.replacePartition(fuelType);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @DeleteMapping("/{fuelType}/cars")
+    public ResponseEntity<Void> truncatePartition(@PathVariable FuelType fuelType) {
+        carPartitionService.truncatePartition(fuelType);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+}
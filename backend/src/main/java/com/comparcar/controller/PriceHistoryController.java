@@ -0,0 +1,65 @@
+package com.comparcar.controller;
+
+import com.comparcar.dto.PriceHistoryEntryDto;
+import com.comparcar.dto.PriceTrendPointDto;
+import com.comparcar.model.RollupGranularity;
+import com.comparcar.service.PriceHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@RestController
+@RequestMapping("/cars")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class PriceHistoryController {
+
+    private final PriceHistoryService priceHistoryService;
+
+    // Raw events, defaults to the last 90 days
+    @GetMapping("/{id}/price-history")
+    public ResponseEntity<List<PriceHistoryEntryDto>> getPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(90, ChronoUnit.DAYS);
+        return new ResponseEntity<>(priceHistoryService.getHistory(id, start, end), HttpStatus.OK);
+    }
+
+    // Downsampled trend of one car, defaults to the last year
+    @GetMapping("/{id}/price-trend")
+    public ResponseEntity<List<PriceTrendPointDto>> getCarPriceTrend(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "week") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusYears(1);
+        List<PriceTrendPointDto> trend = priceHistoryService.getCarTrend(
+                id, RollupGranularity.fromString(granularity), start, end);
+        return new ResponseEntity<>(trend, HttpStatus.OK);
+    }
+
+    // Downsampled trend across all cars of a model, defaults to the last year
+    @GetMapping("/price-trends")
+    public ResponseEntity<List<PriceTrendPointDto>> getModelPriceTrend(
+            @RequestParam String model,
+            @RequestParam(defaultValue = "week") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusYears(1);
+        List<PriceTrendPointDto> trend = priceHistoryService.getModelTrend(
+                model, RollupGranularity.fromString(granularity), start, end);
+        return new ResponseEntity<>(trend, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,48 @@
+package com.comparcar.controller;
+
+import com.comparcar.dto.SavedSearchDto;
+import com.comparcar.service.SavedSearchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/saved-searches")
+@CrossOrigin(origins = "http://localhost:3000")
+@RequiredArgsConstructor
+public class SavedSearchController {
+
+    private final SavedSearchService savedSearchService;
+
+    @PostMapping
+    public ResponseEntity<SavedSearchDto> createSavedSearch(@Valid @RequestBody SavedSearchDto savedSearchDto) {
+        SavedSearchDto created = savedSearchService.createSavedSearch(savedSearchDto);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SavedSearchDto>> getSavedSearches() {
+        return new ResponseEntity<>(savedSearchService.getSavedSearches(), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<SavedSearchDto> getSavedSearchById(@PathVariable Long id) {
+        return savedSearchService.getSavedSearchById(id)
+                .map(savedSearch -> new ResponseEntity<>(savedSearch, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSavedSearch(@PathVariable Long id) {
+        try {
+            savedSearchService.deleteSavedSearch(id);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.comparcar.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AggregateDto {
+
+    private String group;
+    private Long count;
+    private Double min;
+    private Double avg;
+    private Double max;
+}
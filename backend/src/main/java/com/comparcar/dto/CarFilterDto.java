@@ -1,10 +1,17 @@
 package com.comparcar.dto;
 
 import com.comparcar.model.BodyType;
+import com.comparcar.model.CarField;
 import com.comparcar.model.FuelType;
 import lombok.Data;
 import org.springframework.data.domain.Sort;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
 @Data
 public class CarFilterDto {
     
@@ -31,4 +38,36 @@ public class CarFilterDto {
     private int size = 20;
     private String sortBy = "id";
     private Sort.Direction sortDirection = Sort.Direction.ASC;
-} 
\ No newline at end of file
+    
+    // Field selection, null means all fields
+    private Set<CarField> fields;
+    
+    // Total count strategy
+    private CountMode countMode = CountMode.EXACT;
+    
+    // Filter shape: the criteria values only, with the model normalized the way CarSpecification applies it
+    public List<Object> criteriaKey() {
+        String normalizedModel = model == null || model.trim().isEmpty() ? null : model.toLowerCase(Locale.ROOT);
+        return Arrays.asList(
+                normalizedModel,
+                manufacturingYearFrom, manufacturingYearTo,
+                engineVolumeFrom, engineVolumeTo,
+                bodyType, fuelType,
+                trunkSizeFrom, trunkSizeTo,
+                fuelConsumptionFrom, fuelConsumptionTo,
+                averageServicePriceFrom, averageServicePriceTo,
+                priceFrom, priceTo,
+                mileageFrom, mileageTo
+        );
+    }
+    
+    // Everything that determines the response of a filter query
+    public List<Object> queryKey() {
+        return List.of(criteriaKey(), page, size, sortBy, sortDirection,
+                fields == null ? Set.of() : Set.copyOf(fields), countMode);
+    }
+    
+    public boolean hasCriteria() {
+        return criteriaKey().stream().anyMatch(Objects::nonNull);
+    }
+}
\ No newline at end of file
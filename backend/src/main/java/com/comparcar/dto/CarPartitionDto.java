@@ -0,0 +1,14 @@
+package com.comparcar.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CarPartitionDto {
+
+    private String name;
+    private String bound;
+    // From planner statistics, null if the partition has not been analyzed
+    private Long estimatedRows;
+}
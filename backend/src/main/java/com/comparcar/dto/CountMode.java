@@ -0,0 +1,22 @@
+package com.comparcar.dto;
+
+import java.util.Locale;
+
+public enum CountMode {
+    // COUNT(*) with the full filter predicate
+    EXACT,
+    // Exact count remembered per filter shape until the next write or the TTL
+    CACHED,
+    // Planner statistics or row estimate, falls back to a cached total or none, never counts
+    ESTIMATED,
+    // No total, only hasNext
+    NONE;
+
+    public static CountMode fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid count mode '" + value + "'. Supported: exact, cached, estimated, none");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.comparcar.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@Builder
+public class PageResponseDto<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private int numberOfElements;
+
+    // Null when the count mode is NONE
+    private Long totalElements;
+    private Integer totalPages;
+
+    private boolean first;
+    private boolean last;
+    private boolean hasNext;
+
+    // Mode that actually produced totalElements
+    private CountMode countMode;
+
+    public static <T> PageResponseDto<T> of(List<T> content, Pageable pageable, boolean hasNext, Long total, CountMode countMode) {
+        Integer totalPages = total == null ? null : (int) Math.ceil((double) total / pageable.getPageSize());
+        return PageResponseDto.<T>builder()
+                .content(content)
+                .number(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .numberOfElements(content.size())
+                .totalElements(total)
+                .totalPages(totalPages)
+                .first(pageable.getPageNumber() == 0)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .countMode(countMode)
+                .build();
+    }
+
+    public <R> PageResponseDto<R> map(Function<? super T, ? extends R> mapper) {
+        return PageResponseDto.<R>builder()
+                .content(content.stream().<R>map(mapper).toList())
+                .number(number)
+                .size(size)
+                .numberOfElements(numberOfElements)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .first(first)
+                .last(last)
+                .hasNext(hasNext)
+                .countMode(countMode)
+                .build();
+    }
+}
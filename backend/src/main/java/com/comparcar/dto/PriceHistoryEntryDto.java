@@ -0,0 +1,16 @@
+package com.comparcar.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+public class PriceHistoryEntryDto {
+
+    private Instant recordedAt;
+    private BigDecimal price;
+    private Integer mileage;
+}
@@ -0,0 +1,21 @@
+package com.comparcar.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+public class PriceTrendPointDto {
+
+    private LocalDate bucketStart;
+    private Long samples;
+    private BigDecimal minPrice;
+    private BigDecimal avgPrice;
+    private BigDecimal maxPrice;
+    private Integer minMileage;
+    private Long avgMileage;
+    private Integer maxMileage;
+}
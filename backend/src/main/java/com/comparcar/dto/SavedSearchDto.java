@@ -0,0 +1,30 @@
+package com.comparcar.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class SavedSearchDto {
+
+    private Long id;
+
+    @NotBlank(message = "Saved search name is required")
+    @Size(max = 100, message = "Saved search name cannot exceed 100 characters")
+    private String name;
+
+    @NotBlank(message = "Subscriber is required")
+    @Size(max = 255, message = "Subscriber cannot exceed 255 characters")
+    private String subscriber;
+
+    private Instant createdAt;
+
+    // Only the filter criteria are stored, paging, sorting and field selection are ignored
+    @NotNull(message = "Search criteria are required")
+    private CarFilterDto criteria;
+}
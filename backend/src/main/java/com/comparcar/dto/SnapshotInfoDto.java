@@ -0,0 +1,16 @@
+package com.comparcar.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class SnapshotInfoDto {
+
+    private String path;
+    private Integer rows;
+    private Instant createdAt;
+    private Long sizeBytes;
+}
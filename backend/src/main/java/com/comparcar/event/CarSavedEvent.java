@@ -0,0 +1,7 @@
+package com.comparcar.event;
+
+import com.comparcar.model.Car;
+
+// Published by CarService after a car is created or updated
+public record CarSavedEvent(Car car, boolean created) {
+}
@@ -0,0 +1,31 @@
+package com.comparcar.mapper;
+
+import com.comparcar.config.MapstructConfig;
+import com.comparcar.dto.CarFilterDto;
+import com.comparcar.dto.SavedSearchDto;
+import com.comparcar.model.SavedSearchEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MapstructConfig.class)
+public interface SavedSearchMapper {
+
+    @Mapping(target = "criteria", source = ".")
+    SavedSearchDto toDto(SavedSearchEntity entity);
+
+    // Only the criteria are stored, the query options keep their CarFilterDto defaults
+    @Mapping(target = "page", ignore = true)
+    @Mapping(target = "size", ignore = true)
+    @Mapping(target = "sortBy", ignore = true)
+    @Mapping(target = "sortDirection", ignore = true)
+    @Mapping(target = "fields", ignore = true)
+    @Mapping(target = "countMode", ignore = true)
+    CarFilterDto toCriteria(SavedSearchEntity entity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = ".", source = "criteria")
+    SavedSearchEntity toEntity(SavedSearchDto dto);
+}
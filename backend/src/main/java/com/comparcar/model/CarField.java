@@ -0,0 +1,58 @@
+package com.comparcar.model;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public enum CarField {
+    ID("id", (car, value) -> car.setId((Long) value)),
+    MODEL("model", (car, value) -> car.setModel((String) value)),
+    MANUFACTURING_YEAR("manufacturingYear", (car, value) -> car.setManufacturingYear((Integer) value)),
+    ENGINE_VOLUME("engineVolume", (car, value) -> car.setEngineVolume((BigDecimal) value)),
+    BODY_TYPE("bodyType", (car, value) -> car.setBodyType((BodyType) value)),
+    FUEL_TYPE("fuelType", (car, value) -> car.setFuelType((FuelType) value)),
+    TRUNK_SIZE("trunkSize", (car, value) -> car.setTrunkSize((Integer) value)),
+    FUEL_CONSUMPTION("fuelConsumption", (car, value) -> car.setFuelConsumption((BigDecimal) value)),
+    AVERAGE_SERVICE_PRICE("averageServicePrice", (car, value) -> car.setAverageServicePrice((BigDecimal) value)),
+    PRICE("price", (car, value) -> car.setPrice((BigDecimal) value)),
+    MILEAGE("mileage", (car, value) -> car.setMileage((Integer) value));
+
+    private final String attribute;
+    private final BiConsumer<CarEntity, Object> setter;
+
+    CarField(String attribute, BiConsumer<CarEntity, Object> setter) {
+        this.attribute = attribute;
+        this.setter = setter;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public void apply(CarEntity car, Object value) {
+        setter.accept(car, value);
+    }
+
+    public static CarField fromAttribute(String attribute) {
+        return Arrays.stream(values())
+                .filter(field -> field.attribute.equals(attribute))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown car field: " + attribute));
+    }
+
+    // Parses a comma separated list such as "id,model,price"; null or blank means all fields
+    public static Set<CarField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<CarField> selected = EnumSet.noneOf(CarField.class);
+        for (String attribute : fields.split(",")) {
+            if (!attribute.isBlank()) {
+                selected.add(fromAttribute(attribute.trim()));
+            }
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+}
@@ -0,0 +1,54 @@
+package com.comparcar.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// A car write waiting to be folded into its model's rollups, deleted once folded
+@Entity
+@Immutable
+@Table(name = "pending_model_samples")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PendingModelSampleEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "model_key", nullable = false, length = 100)
+    private String modelKey;
+
+    // UTC calendar day of the write
+    @Column(name = "sample_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private Integer mileage;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        Class<?> oEffectiveClass = o instanceof HibernateProxy ? ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        PendingModelSampleEntity sample = (PendingModelSampleEntity) o;
+        return id != null && Objects.equals(id, sample.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,76 @@
+package com.comparcar.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+// Downsampled min/sum/max per bucket, maintained incrementally by PriceRollupRepository.accumulate
+@Entity
+@Table(name = "car_price_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_car_price_rollups_bucket",
+        columnNames = {"scope", "scope_key", "granularity", "bucket_start"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class PriceRollupEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", nullable = false, length = 10)
+    private RollupScope scope;
+
+    @Column(name = "scope_key", nullable = false, length = 100)
+    private String scopeKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Column(nullable = false)
+    private Long sampleCount;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal priceMin;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal priceMax;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal priceSum;
+
+    @Column(nullable = false)
+    private Integer mileageMin;
+
+    @Column(nullable = false)
+    private Integer mileageMax;
+
+    @Column(nullable = false)
+    private Long mileageSum;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        Class<?> oEffectiveClass = o instanceof HibernateProxy ? ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        PriceRollupEntity rollup = (PriceRollupEntity) o;
+        return id != null && Objects.equals(id, rollup.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,24 @@
+package com.comparcar.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+public enum RollupGranularity {
+    DAY,
+    WEEK;
+
+    // First day of the bucket containing the date, weeks start on Monday
+    public LocalDate bucketStart(LocalDate date) {
+        return this == WEEK ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : date;
+    }
+
+    public static RollupGranularity fromString(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid granularity '" + value + "'. Supported: day, week");
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.comparcar.model;
+
+public enum RollupScope {
+    // Keyed by car id
+    CAR,
+    // Keyed by lower-cased model name
+    MODEL
+}
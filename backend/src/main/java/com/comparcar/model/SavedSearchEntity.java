@@ -0,0 +1,92 @@
+package com.comparcar.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.time.Instant;
+import java.util.Objects;
+
+@Entity
+@Table(name = "saved_searches", indexes = @Index(name = "idx_saved_searches_updated_at", columnList = "updated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class SavedSearchEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Saved search name is required")
+    @Size(max = 100, message = "Saved search name cannot exceed 100 characters")
+    @Column(nullable = false)
+    private String name;
+
+    @NotBlank(message = "Subscriber is required")
+    @Size(max = 255, message = "Subscriber cannot exceed 255 characters")
+    @Column(nullable = false)
+    private String subscriber;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Change feed for other instances' indexes; nullable so existing rows survive ddl-auto update
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    // Deletes leave a tombstone until other instances have synced it
+    @Column(name = "deleted_at")
+    private Instant deletedAt;
+
+    // Criteria, same semantics as CarFilterDto
+    private String model;
+    private Integer manufacturingYearFrom;
+    private Integer manufacturingYearTo;
+    private Double engineVolumeFrom;
+    private Double engineVolumeTo;
+
+    @Enumerated(EnumType.STRING)
+    private BodyType bodyType;
+
+    @Enumerated(EnumType.STRING)
+    private FuelType fuelType;
+
+    private Integer trunkSizeFrom;
+    private Integer trunkSizeTo;
+    private Double fuelConsumptionFrom;
+    private Double fuelConsumptionTo;
+    private Double averageServicePriceFrom;
+    private Double averageServicePriceTo;
+    private Double priceFrom;
+    private Double priceTo;
+    private Integer mileageFrom;
+    private Integer mileageTo;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = Instant.now();
+        }
+        updatedAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null) return false;
+        Class<?> oEffectiveClass = o instanceof HibernateProxy ? ((HibernateProxy) o).getHibernateLazyInitializer().getPersistentClass() : o.getClass();
+        Class<?> thisEffectiveClass = this instanceof HibernateProxy ? ((HibernateProxy) this).getHibernateLazyInitializer().getPersistentClass() : this.getClass();
+        if (thisEffectiveClass != oEffectiveClass) return false;
+        SavedSearchEntity savedSearch = (SavedSearchEntity) o;
+        return id != null && Objects.equals(id, savedSearch.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
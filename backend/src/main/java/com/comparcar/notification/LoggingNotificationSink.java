@@ -0,0 +1,20 @@
+package com.comparcar.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Local sink until a real delivery channel (mail, push) is wired in
+@Slf4j
+@Component
+public class LoggingNotificationSink implements NotificationSink {
+
+    @Override
+    public void deliver(SavedSearchNotification notification) {
+        log.info("Saved search {} '{}' of {} matched car {} ({})",
+                notification.savedSearchId(),
+                notification.savedSearchName(),
+                notification.subscriber(),
+                notification.car().getId(),
+                notification.car().getModel());
+    }
+}
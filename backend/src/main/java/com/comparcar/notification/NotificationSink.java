@@ -0,0 +1,6 @@
+package com.comparcar.notification;
+
+public interface NotificationSink {
+
+    void deliver(SavedSearchNotification notification);
+}
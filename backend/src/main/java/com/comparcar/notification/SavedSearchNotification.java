@@ -0,0 +1,6 @@
+package com.comparcar.notification;
+
+import com.comparcar.model.Car;
+
+public record SavedSearchNotification(Long savedSearchId, String savedSearchName, String subscriber, Car car) {
+}
@@ -0,0 +1,14 @@
+package com.comparcar.repository;
+
+import com.comparcar.model.CarPriceHistoryEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface CarPriceHistoryRepository extends JpaRepository<CarPriceHistoryEntity, Long> {
+
+    List<CarPriceHistoryEntity> findByCarIdAndRecordedAtBetweenOrderByRecordedAt(Long carId, Instant from, Instant to);
+}
@@ -0,0 +1,30 @@
+package com.comparcar.repository;
+
+import com.comparcar.model.CarEntity;
+import com.comparcar.model.CarField;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface CarRepositoryCustom {
+
+    // Selects only the requested columns; returned entities are detached and hold just those attributes
+    List<CarEntity> findAllProjected(Specification<CarEntity> specification, Set<CarField> fields, Pageable pageable);
+
+    // Same projection, but reads one extra row to tell whether a next page exists instead of counting
+    Slice<CarEntity> findSliceProjected(Specification<CarEntity> specification, Set<CarField> fields, Pageable pageable);
+
+    // Cursor based scan of the whole table in id order, must be consumed inside a transaction and closed
+    Stream<CarEntity> streamAllProjected(Set<CarField> fields);
+
+    // Row estimate from planner statistics, empty if the table has not been analyzed yet
+    OptionalLong estimateCount();
+
+    // Planner row estimate for the specification's query, empty if no plan could be read
+    OptionalLong estimateCount(Specification<CarEntity> specification);
+}
@@ -0,0 +1,153 @@
+package com.comparcar.repository;
+
+import com.comparcar.model.CarEntity;
+import com.comparcar.model.CarField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class CarRepositoryCustomImpl implements CarRepositoryCustom {
+
+    private static final int STREAM_FETCH_SIZE = 1000;
+    private static final ObjectMapper PLAN_READER = new ObjectMapper();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<CarEntity> findAllProjected(Specification<CarEntity> specification, Set<CarField> fields, Pageable pageable) {
+        return query(specification, fields, pageable, pageable.isPaged() ? pageable.getPageSize() : -1);
+    }
+
+    @Override
+    public Slice<CarEntity> findSliceProjected(Specification<CarEntity> specification, Set<CarField> fields, Pageable pageable) {
+        List<CarEntity> content = query(specification, fields, pageable, pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    @Override
+    public Stream<CarEntity> streamAllProjected(Set<CarField> fields) {
+        List<CarField> selected = List.copyOf(fields);
+        return createQuery(null, selected, Sort.by("id"))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()
+                .map(tuple -> toEntity(tuple, selected));
+    }
+
+    @Override
+    public OptionalLong estimateCount() {
+        // A partitioned parent only has statistics after a manual ANALYZE and autovacuum never refreshes
+        // them, so its partitions are summed instead; adding both would count every row twice
+        Long estimate = entityManager.unwrap(Session.class).createNativeQuery("""
+                        SELECT CAST(CASE WHEN p.relkind = 'p'
+                                         THEN (SELECT SUM(c.reltuples) FILTER (WHERE c.reltuples >= 0)
+                                               FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                                               WHERE i.inhparent = p.oid)
+                                         ELSE p.reltuples
+                                    END AS bigint)
+                        FROM pg_class p
+                        WHERE p.oid = to_regclass('cars')
+                        """, Long.class)
+                .uniqueResult();
+        return estimate == null || estimate < 0 ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+
+    @Override
+    public OptionalLong estimateCount(Specification<CarEntity> specification) {
+        // Hibernate renders and binds the specification as usual, the inspector only prefixes EXPLAIN,
+        // so the planner estimates exactly the statement a count would run
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = criteriaBuilder.createQuery(String.class);
+        Root<CarEntity> root = query.from(CarEntity.class);
+        // The plan comes back as a single text column in place of the selected attribute
+        query.select(root.get("model"));
+        Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // No auto flush, pending writes must not be prepared while EXPLAIN is being prefixed
+        TypedQuery<String> explain = entityManager.createQuery(query).setFlushMode(FlushModeType.COMMIT);
+        // No row limit, it would cap the planner's estimate; EXPLAIN returns a single row anyway
+        List<String> plan = ExplainStatementInspector.explain(explain::getResultList);
+        if (plan.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        try {
+            JsonNode rows = PLAN_READER.readTree(plan.get(0)).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? OptionalLong.of(rows.asLong()) : OptionalLong.empty();
+        } catch (JsonProcessingException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private List<CarEntity> query(Specification<CarEntity> specification, Set<CarField> fields, Pageable pageable, int limit) {
+        List<CarField> selected = List.copyOf(fields);
+        TypedQuery<Tuple> typedQuery = createQuery(specification, selected, pageable.getSort());
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+        }
+        if (limit >= 0) {
+            typedQuery.setMaxResults(limit);
+        }
+
+        return typedQuery.getResultList().stream()
+                .map(tuple -> toEntity(tuple, selected))
+                .toList();
+    }
+
+    private TypedQuery<Tuple> createQuery(Specification<CarEntity> specification, List<CarField> selected, Sort sort) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<CarEntity> root = query.from(CarEntity.class);
+
+        query.multiselect(selected.stream()
+                .<Selection<?>>map(field -> root.get(field.getAttribute()).alias(field.getAttribute()))
+                .toList());
+
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+        }
+
+        return entityManager.createQuery(query);
+    }
+
+    private CarEntity toEntity(Tuple tuple, List<CarField> selected) {
+        CarEntity entity = new CarEntity();
+        for (CarField field : selected) {
+            field.apply(entity, tuple.get(field.getAttribute()));
+        }
+        return entity;
+    }
+}
@@ -0,0 +1,26 @@
+package com.comparcar.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+// Registered for the whole session factory; prefixes EXPLAIN only to statements prepared inside explain(),
+// so a query is planned on the connection the current transaction already holds
+public class ExplainStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<Boolean> EXPLAINING = new ThreadLocal<>();
+
+    static <T> T explain(Supplier<T> query) {
+        EXPLAINING.set(Boolean.TRUE);
+        try {
+            return query.get();
+        } finally {
+            EXPLAINING.remove();
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        return EXPLAINING.get() != null ? "EXPLAIN (FORMAT JSON) " + sql : sql;
+    }
+}
@@ -0,0 +1,9 @@
+package com.comparcar.repository;
+
+import com.comparcar.model.PendingModelSampleEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PendingModelSampleRepository extends JpaRepository<PendingModelSampleEntity, Long> {
+}
@@ -0,0 +1,76 @@
+package com.comparcar.repository;
+
+import com.comparcar.model.PriceRollupEntity;
+import com.comparcar.model.RollupGranularity;
+import com.comparcar.model.RollupScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PriceRollupRepository extends JpaRepository<PriceRollupEntity, Long> {
+
+    List<PriceRollupEntity> findByScopeAndScopeKeyAndGranularityAndBucketStartBetweenOrderByBucketStart(
+            RollupScope scope, String scopeKey, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+    // Folds one sample into its bucket in a single atomic statement, creating the bucket on first use
+    @Modifying
+    @Query(value = """
+            INSERT INTO car_price_rollups (scope, scope_key, granularity, bucket_start, sample_count,
+                                           price_min, price_max, price_sum, mileage_min, mileage_max, mileage_sum)
+            VALUES (:scope, :scopeKey, :granularity, :bucketStart, 1,
+                    :price, :price, :price, :mileage, :mileage, :mileage)
+            ON CONFLICT (scope, scope_key, granularity, bucket_start) DO UPDATE SET
+                sample_count = car_price_rollups.sample_count + 1,
+                price_min = LEAST(car_price_rollups.price_min, EXCLUDED.price_min),
+                price_max = GREATEST(car_price_rollups.price_max, EXCLUDED.price_max),
+                price_sum = car_price_rollups.price_sum + EXCLUDED.price_sum,
+                mileage_min = LEAST(car_price_rollups.mileage_min, EXCLUDED.mileage_min),
+                mileage_max = GREATEST(car_price_rollups.mileage_max, EXCLUDED.mileage_max),
+                mileage_sum = car_price_rollups.mileage_sum + EXCLUDED.mileage_sum
+            """, nativeQuery = true)
+    void accumulate(@Param("scope") String scope,
+                    @Param("scopeKey") String scopeKey,
+                    @Param("granularity") String granularity,
+                    @Param("bucketStart") LocalDate bucketStart,
+                    @Param("price") BigDecimal price,
+                    @Param("mileage") int mileage);
+
+    // Moves up to batchSize pending samples into their model's day and week buckets in one statement.
+    // SKIP LOCKED lets instances fold disjoint batches; returns the buckets touched, 0 once drained
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH batch AS (
+                DELETE FROM pending_model_samples
+                WHERE id IN (SELECT id FROM pending_model_samples ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED)
+                RETURNING model_key, sample_day, price, mileage
+            ), bucketed AS (
+                SELECT 'DAY' AS granularity, model_key, sample_day AS bucket_start, price, mileage FROM batch
+                UNION ALL
+                SELECT 'WEEK', model_key, CAST(date_trunc('week', CAST(sample_day AS timestamp)) AS date), price, mileage FROM batch
+            )
+            INSERT INTO car_price_rollups (scope, scope_key, granularity, bucket_start, sample_count,
+                                           price_min, price_max, price_sum, mileage_min, mileage_max, mileage_sum)
+            SELECT 'MODEL', model_key, granularity, bucket_start, COUNT(*),
+                   MIN(price), MAX(price), SUM(price), MIN(mileage), MAX(mileage), SUM(mileage)
+            FROM bucketed
+            GROUP BY model_key, granularity, bucket_start
+            ON CONFLICT (scope, scope_key, granularity, bucket_start) DO UPDATE SET
+                sample_count = car_price_rollups.sample_count + EXCLUDED.sample_count,
+                price_min = LEAST(car_price_rollups.price_min, EXCLUDED.price_min),
+                price_max = GREATEST(car_price_rollups.price_max, EXCLUDED.price_max),
+                price_sum = car_price_rollups.price_sum + EXCLUDED.price_sum,
+                mileage_min = LEAST(car_price_rollups.mileage_min, EXCLUDED.mileage_min),
+                mileage_max = GREATEST(car_price_rollups.mileage_max, EXCLUDED.mileage_max),
+                mileage_sum = car_price_rollups.mileage_sum + EXCLUDED.mileage_sum
+            """, nativeQuery = true)
+    int foldPendingModelSamples(@Param("batchSize") int batchSize);
+}
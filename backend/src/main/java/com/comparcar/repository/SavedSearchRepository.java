@@ -0,0 +1,30 @@
+package com.comparcar.repository;
+
+import com.comparcar.model.SavedSearchEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearchEntity, Long> {
+
+    List<SavedSearchEntity> findAllByDeletedAtIsNull();
+
+    Optional<SavedSearchEntity> findByIdAndDeletedAtIsNull(Long id);
+
+    // Created or deleted since the given time, tombstones included
+    List<SavedSearchEntity> findAllByUpdatedAtAfter(Instant since);
+
+    @Query("SELECT MAX(s.updatedAt) FROM SavedSearchEntity s")
+    Optional<Instant> findLatestUpdate();
+
+    @Modifying
+    @Query("DELETE FROM SavedSearchEntity s WHERE s.deletedAt < :cutoff")
+    int purgeDeletedBefore(@Param("cutoff") Instant cutoff);
+}
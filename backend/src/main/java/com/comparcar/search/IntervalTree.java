@@ -0,0 +1,160 @@
+package com.comparcar.search;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+// Treap ordered by (low, id) and augmented with the max upper bound of each subtree,
+// so a stabbing query only descends into subtrees that can contain the point
+public class IntervalTree<T> {
+
+    private static final class Node<T> {
+        private final double low;
+        private final double high;
+        private final long id;
+        private final T value;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node<T> left;
+        private Node<T> right;
+        private double maxHigh;
+
+        private Node(double low, double high, long id, T value) {
+            this.low = low;
+            this.high = high;
+            this.id = id;
+            this.value = value;
+            this.maxHigh = high;
+        }
+    }
+
+    private Node<T> root;
+    private int size;
+
+    public void insert(double low, double high, long id, T value) {
+        if (low > high) {
+            throw new IllegalArgumentException("Interval lower bound " + low + " is above upper bound " + high);
+        }
+        root = insert(root, new Node<>(low, high, id, value));
+        size++;
+    }
+
+    public boolean remove(double low, long id) {
+        int before = size;
+        root = remove(root, low, id);
+        return size < before;
+    }
+
+    // Visits every value whose interval contains the point, bounds inclusive
+    public void stab(double point, Consumer<T> consumer) {
+        stab(root, point, consumer);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private Node<T> insert(Node<T> node, Node<T> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.low, inserted.id, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, double low, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(low, id, node);
+        if (comparison == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, low, id);
+        } else {
+            node.right = remove(node.right, low, id);
+        }
+        update(node);
+        return node;
+    }
+
+    private void stab(Node<T> node, double point, Consumer<T> consumer) {
+        while (node != null && node.maxHigh >= point) {
+            stab(node.left, point, consumer);
+            // Everything to the right starts at or after this node
+            if (node.low > point) {
+                return;
+            }
+            if (node.high >= point) {
+                consumer.accept(node.value);
+            }
+            node = node.right;
+        }
+    }
+
+    private Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<T> node) {
+        double maxHigh = node.high;
+        if (node.left != null) {
+            maxHigh = Math.max(maxHigh, node.left.maxHigh);
+        }
+        if (node.right != null) {
+            maxHigh = Math.max(maxHigh, node.right.maxHigh);
+        }
+        node.maxHigh = maxHigh;
+    }
+
+    private int compare(double low, long id, Node<T> node) {
+        int comparison = Double.compare(low, node.low);
+        return comparison != 0 ? comparison : Long.compare(id, node.id);
+    }
+}
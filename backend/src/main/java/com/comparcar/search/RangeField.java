@@ -0,0 +1,59 @@
+package com.comparcar.search;
+
+import com.comparcar.dto.CarFilterDto;
+import com.comparcar.model.Car;
+
+import java.util.function.Function;
+
+// Range criteria of CarFilterDto, with the value domain allowed by CarDto validation
+public enum RangeField {
+    MANUFACTURING_YEAR(1900, 2030, CarFilterDto::getManufacturingYearFrom, CarFilterDto::getManufacturingYearTo, Car::getManufacturingYear),
+    ENGINE_VOLUME(0.5, 10.0, CarFilterDto::getEngineVolumeFrom, CarFilterDto::getEngineVolumeTo, Car::getEngineVolume),
+    TRUNK_SIZE(100, 3000, CarFilterDto::getTrunkSizeFrom, CarFilterDto::getTrunkSizeTo, Car::getTrunkSize),
+    FUEL_CONSUMPTION(1.0, 30.0, CarFilterDto::getFuelConsumptionFrom, CarFilterDto::getFuelConsumptionTo, Car::getFuelConsumption),
+    AVERAGE_SERVICE_PRICE(0.0, 10000.0, CarFilterDto::getAverageServicePriceFrom, CarFilterDto::getAverageServicePriceTo, Car::getAverageServicePrice),
+    PRICE(100.0, 1000000.0, CarFilterDto::getPriceFrom, CarFilterDto::getPriceTo, Car::getPrice),
+    MILEAGE(0, 1000000, CarFilterDto::getMileageFrom, CarFilterDto::getMileageTo, Car::getMileage);
+
+    private final double domainMin;
+    private final double domainMax;
+    private final Function<CarFilterDto, Number> from;
+    private final Function<CarFilterDto, Number> to;
+    private final Function<Car, Number> value;
+
+    RangeField(double domainMin, double domainMax, Function<CarFilterDto, Number> from,
+               Function<CarFilterDto, Number> to, Function<Car, Number> value) {
+        this.domainMin = domainMin;
+        this.domainMax = domainMax;
+        this.from = from;
+        this.to = to;
+        this.value = value;
+    }
+
+    public double lowerBound(CarFilterDto filter) {
+        Number bound = from.apply(filter);
+        return bound == null ? Double.NEGATIVE_INFINITY : bound.doubleValue();
+    }
+
+    public double upperBound(CarFilterDto filter) {
+        Number bound = to.apply(filter);
+        return bound == null ? Double.POSITIVE_INFINITY : bound.doubleValue();
+    }
+
+    public boolean isConstrained(CarFilterDto filter) {
+        return from.apply(filter) != null || to.apply(filter) != null;
+    }
+
+    // NaN when the car has no value for this field
+    public double valueOf(Car car) {
+        Number number = value.apply(car);
+        return number == null ? Double.NaN : number.doubleValue();
+    }
+
+    // Share of the value domain the interval covers, smaller is more selective
+    public double coverage(double low, double high) {
+        double clampedLow = Math.max(low, domainMin);
+        double clampedHigh = Math.min(high, domainMax);
+        return Math.max(0, clampedHigh - clampedLow) / (domainMax - domainMin);
+    }
+}
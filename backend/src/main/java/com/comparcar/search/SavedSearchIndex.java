@@ -0,0 +1,212 @@
+package com.comparcar.search;
+
+import com.comparcar.model.BodyType;
+import com.comparcar.model.Car;
+import com.comparcar.model.FuelType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted predicate index over saved searches.
+ *
+ * Searches are bucketed by their BodyType and FuelType criteria (or "any"), and within a bucket
+ * each search is stored once, in the interval tree of its most selective range criterion.
+ * Searches without range criteria are keyed by their model substring instead, and a car looks up
+ * each distinct substring of its own model, so that probe depends on the model length and not on
+ * the number of searches. Searches with neither are matched by every car in their bucket.
+ * A car therefore only probes the four buckets it can fall into and, per bucket, one stabbing
+ * query per range field plus the model lookups; the remaining criteria are verified on those
+ * candidates only.
+ */
+public class SavedSearchIndex {
+
+    private static final RangeField[] RANGE_FIELDS = RangeField.values();
+    private static final int ANY_BODY_TYPE = BodyType.values().length;
+    private static final int ANY_FUEL_TYPE = FuelType.values().length;
+
+    private static final class Bucket {
+        private final List<IntervalTree<SavedSearchPredicate>> trees = new ArrayList<>();
+        // Searches without range criteria, by lower-cased model substring
+        private final Map<String, Map<Long, SavedSearchPredicate>> byModel = new HashMap<>();
+        // Searches without range or model criteria, every car in the bucket matches them
+        private final Map<Long, SavedSearchPredicate> unconstrained = new HashMap<>();
+
+        private Bucket() {
+            for (int i = 0; i < RANGE_FIELDS.length; i++) {
+                trees.add(new IntervalTree<>());
+            }
+        }
+
+        private boolean isEmpty() {
+            return byModel.isEmpty() && unconstrained.isEmpty() && trees.stream().allMatch(IntervalTree::isEmpty);
+        }
+    }
+
+    private final Bucket[][] buckets = new Bucket[ANY_BODY_TYPE + 1][ANY_FUEL_TYPE + 1];
+    private final Map<Long, SavedSearchPredicate> searches = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void add(SavedSearchPredicate search) {
+        lock.writeLock().lock();
+        try {
+            SavedSearchPredicate previous = searches.put(search.getId(), search);
+            if (previous != null) {
+                unlink(previous);
+            }
+            int bodyType = search.getBodyType() == null ? ANY_BODY_TYPE : search.getBodyType().ordinal();
+            int fuelType = search.getFuelType() == null ? ANY_FUEL_TYPE : search.getFuelType().ordinal();
+            Bucket bucket = buckets[bodyType][fuelType];
+            if (bucket == null) {
+                bucket = new Bucket();
+                buckets[bodyType][fuelType] = bucket;
+            }
+            RangeField anchor = search.getAnchor();
+            if (anchor == null && search.getModel() != null) {
+                bucket.byModel.computeIfAbsent(search.getModel(), model -> new HashMap<>()).put(search.getId(), search);
+            } else if (anchor == null) {
+                bucket.unconstrained.put(search.getId(), search);
+            } else {
+                bucket.trees.get(anchor.ordinal())
+                        .insert(search.getLow(anchor), search.getHigh(anchor), search.getId(), search);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            SavedSearchPredicate removed = searches.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            unlink(removed);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SavedSearchPredicate> match(Car car) {
+        Probe probe = new Probe(car);
+        int bodyType = car.getBodyType() == null ? -1 : car.getBodyType().ordinal();
+        int fuelType = car.getFuelType() == null ? -1 : car.getFuelType().ordinal();
+
+        lock.readLock().lock();
+        try {
+            if (bodyType >= 0 && fuelType >= 0) {
+                collect(buckets[bodyType][fuelType], probe);
+            }
+            if (bodyType >= 0) {
+                collect(buckets[bodyType][ANY_FUEL_TYPE], probe);
+            }
+            if (fuelType >= 0) {
+                collect(buckets[ANY_BODY_TYPE][fuelType], probe);
+            }
+            collect(buckets[ANY_BODY_TYPE][ANY_FUEL_TYPE], probe);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return probe.matches;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return searches.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(Bucket bucket, Probe probe) {
+        if (bucket == null) {
+            return;
+        }
+        for (SavedSearchPredicate search : bucket.unconstrained.values()) {
+            probe.verify(search);
+        }
+        if (!bucket.byModel.isEmpty() && probe.model != null) {
+            for (String substring : probe.modelSubstrings()) {
+                Map<Long, SavedSearchPredicate> searches = bucket.byModel.get(substring);
+                if (searches != null) {
+                    searches.values().forEach(probe::verify);
+                }
+            }
+        }
+        for (RangeField field : RANGE_FIELDS) {
+            double value = probe.values[field.ordinal()];
+            if (Double.isNaN(value)) {
+                continue;
+            }
+            bucket.trees.get(field.ordinal()).stab(value, probe::verify);
+        }
+    }
+
+    private void unlink(SavedSearchPredicate search) {
+        int bodyType = search.getBodyType() == null ? ANY_BODY_TYPE : search.getBodyType().ordinal();
+        int fuelType = search.getFuelType() == null ? ANY_FUEL_TYPE : search.getFuelType().ordinal();
+        Bucket bucket = buckets[bodyType][fuelType];
+        if (bucket == null) {
+            return;
+        }
+        RangeField anchor = search.getAnchor();
+        if (anchor == null && search.getModel() != null) {
+            Map<Long, SavedSearchPredicate> searches = bucket.byModel.get(search.getModel());
+            if (searches != null) {
+                searches.remove(search.getId());
+                if (searches.isEmpty()) {
+                    bucket.byModel.remove(search.getModel());
+                }
+            }
+        } else if (anchor == null) {
+            bucket.unconstrained.remove(search.getId());
+        } else {
+            bucket.trees.get(anchor.ordinal()).remove(search.getLow(anchor), search.getId());
+        }
+        if (bucket.isEmpty()) {
+            buckets[bodyType][fuelType] = null;
+        }
+    }
+
+    // A car's values, extracted once per event rather than once per candidate
+    private static final class Probe {
+        private final Car car;
+        private final double[] values;
+        private final String model;
+        private final List<SavedSearchPredicate> matches = new ArrayList<>();
+        private Set<String> modelSubstrings;
+
+        private Probe(Car car) {
+            this.car = car;
+            this.values = SavedSearchPredicate.valuesOf(car);
+            this.model = SavedSearchPredicate.lowerCaseModel(car);
+        }
+
+        private void verify(SavedSearchPredicate search) {
+            if (search.matches(car, values, model)) {
+                matches.add(search);
+            }
+        }
+
+        private Set<String> modelSubstrings() {
+            if (modelSubstrings == null) {
+                modelSubstrings = new HashSet<>();
+                for (int start = 0; start < model.length(); start++) {
+                    for (int end = start + 1; end <= model.length(); end++) {
+                        modelSubstrings.add(model.substring(start, end));
+                    }
+                }
+            }
+            return modelSubstrings;
+        }
+    }
+}
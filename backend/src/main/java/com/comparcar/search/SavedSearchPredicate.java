@@ -0,0 +1,117 @@
+package com.comparcar.search;
+
+import com.comparcar.dto.CarFilterDto;
+import com.comparcar.model.BodyType;
+import com.comparcar.model.Car;
+import com.comparcar.model.FuelType;
+
+import java.util.Locale;
+
+// Immutable in-memory form of saved CarFilterDto criteria, evaluated the way CarSpecification filters
+public final class SavedSearchPredicate {
+
+    private static final RangeField[] RANGE_FIELDS = RangeField.values();
+
+    private final long id;
+    private final String model;
+    private final BodyType bodyType;
+    private final FuelType fuelType;
+    private final double[] lows = new double[RANGE_FIELDS.length];
+    private final double[] highs = new double[RANGE_FIELDS.length];
+    private final RangeField anchor;
+
+    public SavedSearchPredicate(long id, CarFilterDto criteria) {
+        this.id = id;
+        this.model = criteria.getModel() == null || criteria.getModel().trim().isEmpty()
+                ? null
+                : criteria.getModel().toLowerCase(Locale.ROOT);
+        this.bodyType = criteria.getBodyType();
+        this.fuelType = criteria.getFuelType();
+
+        RangeField narrowest = null;
+        double narrowestCoverage = Double.MAX_VALUE;
+        for (RangeField field : RANGE_FIELDS) {
+            lows[field.ordinal()] = field.lowerBound(criteria);
+            highs[field.ordinal()] = field.upperBound(criteria);
+            if (lows[field.ordinal()] > highs[field.ordinal()]) {
+                throw new IllegalArgumentException("Saved search range for " + field + " is empty");
+            }
+            if (field.isConstrained(criteria)) {
+                double coverage = field.coverage(lows[field.ordinal()], highs[field.ordinal()]);
+                if (coverage < narrowestCoverage) {
+                    narrowest = field;
+                    narrowestCoverage = coverage;
+                }
+            }
+        }
+        this.anchor = narrowest;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public BodyType getBodyType() {
+        return bodyType;
+    }
+
+    public FuelType getFuelType() {
+        return fuelType;
+    }
+
+    // Lower-cased substring criterion, null when the search does not filter by model
+    public String getModel() {
+        return model;
+    }
+
+    // Most selective range criterion, null when the search has no range criteria
+    public RangeField getAnchor() {
+        return anchor;
+    }
+
+    public double getLow(RangeField field) {
+        return lows[field.ordinal()];
+    }
+
+    public double getHigh(RangeField field) {
+        return highs[field.ordinal()];
+    }
+
+    public boolean matches(Car car) {
+        return matches(car, valuesOf(car), lowerCaseModel(car));
+    }
+
+    // Variant for the index, which extracts the car's values once per event rather than once per candidate
+    boolean matches(Car car, double[] values, String lowerCaseModel) {
+        if (bodyType != null && bodyType != car.getBodyType()) {
+            return false;
+        }
+        if (fuelType != null && fuelType != car.getFuelType()) {
+            return false;
+        }
+        for (int i = 0; i < values.length; i++) {
+            double low = lows[i];
+            double high = highs[i];
+            if (low == Double.NEGATIVE_INFINITY && high == Double.POSITIVE_INFINITY) {
+                continue;
+            }
+            // NaN fails both comparisons
+            if (!(values[i] >= low && values[i] <= high)) {
+                return false;
+            }
+        }
+        return model == null || lowerCaseModel != null && lowerCaseModel.contains(model);
+    }
+
+    static double[] valuesOf(Car car) {
+        double[] values = new double[RANGE_FIELDS.length];
+        for (RangeField field : RANGE_FIELDS) {
+            values[field.ordinal()] = field.valueOf(car);
+        }
+        return values;
+    }
+
+    static String lowerCaseModel(Car car) {
+        return car.getModel() == null ? null : car.getModel().toLowerCase(Locale.ROOT);
+    }
+}
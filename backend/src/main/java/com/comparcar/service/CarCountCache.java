@@ -0,0 +1,110 @@
+package com.comparcar.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Local writes clear the cache immediately; the TTL bounds staleness from writes on other instances
+@Component
+public class CarCountCache {
+
+    static final int MAX_ENTRIES = 10_000;
+
+    private record Entry(long count, long expiresAt) {
+    }
+
+    private final Map<Object, Entry> counts = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final long ttlNanos;
+    // No entry expires before this, so a full map is not rescanned on every miss
+    private volatile long nextPurge;
+
+    public CarCountCache(@Value("${comparcar.count-cache.ttl:30s}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.nextPurge = System.nanoTime();
+    }
+
+    public long getOrCompute(Object filterKey, LongSupplier counter) {
+        Long cached = getIfPresent(filterKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        long count = counter.getAsLong();
+        long now = System.nanoTime();
+        if (counts.size() >= MAX_ENTRIES) {
+            purgeExpired(now);
+        }
+        if (counts.size() < MAX_ENTRIES) {
+            Entry entry = new Entry(count, now + ttlNanos);
+            counts.put(filterKey, entry);
+            // A write landed while counting, the value may already be stale
+            if (generation.get() != startGeneration) {
+                counts.remove(filterKey, entry);
+            }
+        }
+        return count;
+    }
+
+    public Long getIfPresent(Object filterKey) {
+        Entry entry = counts.get(filterKey);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() >= 0) {
+            counts.remove(filterKey, entry);
+            return null;
+        }
+        return entry.count();
+    }
+
+    // Expired entries are otherwise only dropped when their own key is read again
+    private void purgeExpired(long now) {
+        if (now - nextPurge < 0) {
+            return;
+        }
+        long earliest = now + ttlNanos;
+        for (Iterator<Entry> entries = counts.values().iterator(); entries.hasNext(); ) {
+            long expiresAt = entries.next().expiresAt();
+            if (now - expiresAt >= 0) {
+                entries.remove();
+            } else if (expiresAt - earliest < 0) {
+                earliest = expiresAt;
+            }
+        }
+        nextPurge = earliest;
+    }
+
+    // Advances with every car write, once when it happens and again when it commits
+    public long generation() {
+        return generation.get();
+    }
+
+    // Clears now and again once the surrounding transaction commits, so counts taken
+    // from the pre-commit snapshot in the meantime are not kept
+    public void invalidate() {
+        clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        }
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+}
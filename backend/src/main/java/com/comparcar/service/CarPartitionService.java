@@ -0,0 +1,102 @@
+package com.comparcar.service;
+
+import com.comparcar.dto.CarPartitionDto;
+import com.comparcar.model.FuelType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+
+// Partition level bulk operations on the fuel type partitioned cars table (see db/schema-partitioned.sql).
+// They bypass CarService, so no saved search notifications or price history are produced for the rows involved.
+@Slf4j
+@Service
+@Profile("partitioned")
+@Transactional
+@RequiredArgsConstructor
+public class CarPartitionService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CarCountCache carCountCache;
+
+    @Transactional(readOnly = true)
+    public List<CarPartitionDto> getPartitions() {
+        return jdbcTemplate.query("""
+                        SELECT c.relname AS name,
+                               pg_get_expr(c.relpartbound, c.oid) AS bound,
+                               CASE WHEN c.reltuples >= 0 THEN CAST(c.reltuples AS bigint) END AS estimated_rows
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = to_regclass('cars')
+                        ORDER BY c.relname
+                        """,
+                (rs, rowNum) -> CarPartitionDto.builder()
+                        .name(rs.getString("name"))
+                        .bound(rs.getString("bound"))
+                        .estimatedRows(rs.getObject("estimated_rows", Long.class))
+                        .build());
+    }
+
+    // Empty table shaped like a cars partition for one fuel type. Load it with COPY or
+    // batched inserts, then swap it in with replacePartition.
+    public String createStagingTable(FuelType fuelType) {
+        String staging = stagingName(fuelType);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + staging);
+        jdbcTemplate.execute("CREATE TABLE " + staging + " (LIKE cars INCLUDING DEFAULTS)");
+        // Lets ATTACH PARTITION skip the validation scan
+        jdbcTemplate.execute("ALTER TABLE " + staging + " ADD CONSTRAINT " + staging + "_fuel_type CHECK (fuel_type = '"
+                + fuelType.name() + "')");
+        return staging;
+    }
+
+    // Atomically replaces every car of the fuel type with the contents of its staging table.
+    // The primary key is (id, fuel_type), so id uniqueness across partitions is checked here.
+    public void replacePartition(FuelType fuelType) {
+        String partition = partitionName(fuelType);
+        String staging = stagingName(fuelType);
+        // Takes an exclusive lock on cars, no other writer can claim an id until commit
+        jdbcTemplate.execute("ALTER TABLE cars DETACH PARTITION " + partition);
+
+        Long clashes = jdbcTemplate.queryForObject("SELECT count(*) FROM " + staging
+                + " s WHERE EXISTS (SELECT 1 FROM cars c WHERE c.id = s.id)", Long.class);
+        if (clashes != null && clashes > 0) {
+            throw new IllegalArgumentException(clashes + " cars in " + staging
+                    + " reuse ids of other fuel types, load them without explicit ids");
+        }
+        // Explicit ids above the sequence would collide with later inserts
+        jdbcTemplate.queryForList("""
+                SELECT setval(pg_get_serial_sequence('cars', 'id'), s.max_id)
+                FROM (SELECT MAX(id) AS max_id FROM %s) s
+                WHERE s.max_id > COALESCE(pg_sequence_last_value(pg_get_serial_sequence('cars', 'id')::regclass), 0)
+                """.formatted(staging));
+
+        jdbcTemplate.execute("DROP TABLE " + partition);
+        jdbcTemplate.execute("ALTER TABLE " + staging + " RENAME TO " + partition);
+        jdbcTemplate.execute("ALTER TABLE cars ATTACH PARTITION " + partition + " FOR VALUES IN ('" + fuelType.name() + "')");
+        jdbcTemplate.execute("ALTER TABLE " + partition + " DROP CONSTRAINT " + staging + "_fuel_type");
+        jdbcTemplate.execute("ANALYZE " + partition);
+        carCountCache.invalidate();
+        log.info("Replaced cars partition {}", partition);
+    }
+
+    // Removes every car of the fuel type without row by row deletes
+    public void truncatePartition(FuelType fuelType) {
+        String partition = partitionName(fuelType);
+        jdbcTemplate.execute("TRUNCATE TABLE " + partition);
+        carCountCache.invalidate();
+        log.info("Truncated cars partition {}", partition);
+    }
+
+    private String partitionName(FuelType fuelType) {
+        return "cars_" + fuelType.name().toLowerCase(Locale.ROOT);
+    }
+
+    private String stagingName(FuelType fuelType) {
+        return "cars_staging_" + fuelType.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,21 +2,30 @@ package com.comparcar.service;
 
 import com.comparcar.dto.CarDto;
 import com.comparcar.dto.CarFilterDto;
+import com.comparcar.dto.CountMode;
+import com.comparcar.dto.PageResponseDto;
+import com.comparcar.event.CarSavedEvent;
 import com.comparcar.mapper.CarEntityMapper;
 import com.comparcar.model.Car;
 import com.comparcar.model.CarEntity;
+import com.comparcar.model.CarField;
 import com.comparcar.repository.CarRepository;
 import com.comparcar.specification.CarSpecification;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -25,6 +34,8 @@ public class CarService {
     
     private final CarRepository carRepository;
     private final CarEntityMapper carEntityMapper;
+    private final CarCountCache carCountCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public Car createCar(Car car) {
         // Validate domain model
@@ -34,7 +45,10 @@ public class CarService {
         
         CarEntity carEntity = carEntityMapper.toEntity(car);
         CarEntity savedEntity = carRepository.save(carEntity);
-        return carEntityMapper.toDomain(savedEntity);
+        carCountCache.invalidate();
+        Car savedCar = carEntityMapper.toDomain(savedEntity);
+        eventPublisher.publishEvent(new CarSavedEvent(savedCar, true));
+        return savedCar;
     }
     
     public Optional<Car> getCarById(Long id) {
@@ -55,7 +69,10 @@ public class CarService {
             // Update entity from domain
             carEntityMapper.updateEntityFromDomain(entity, car);
             CarEntity savedEntity = carRepository.save(entity);
-            return carEntityMapper.toDomain(savedEntity);
+            carCountCache.invalidate();
+            Car savedCar = carEntityMapper.toDomain(savedEntity);
+            eventPublisher.publishEvent(new CarSavedEvent(savedCar, false));
+            return savedCar;
         }
         throw new RuntimeException("Car not found with id: " + id);
     }
@@ -65,9 +82,10 @@ public class CarService {
             throw new RuntimeException("Car not found with id: " + id);
         }
         carRepository.deleteById(id);
+        carCountCache.invalidate();
     }
     
-    public Page<Car> getCarsWithFilters(CarFilterDto filterDto) {
+    public PageResponseDto<Car> getCarsWithFilters(CarFilterDto filterDto) {
         // Create pageable with sorting
         Sort sort = Sort.by(filterDto.getSortDirection(), filterDto.getSortBy());
         Pageable pageable = PageRequest.of(filterDto.getPage(), filterDto.getSize(), sort);
@@ -75,15 +93,52 @@ public class CarService {
         // Create specification for filtering
         var specification = CarSpecification.withFilters(filterDto);
         
-        // Execute query with specification and pagination
-        Page<CarEntity> carEntityPage = carRepository.findAll(specification, pageable);
+        // Fetch one row past the page instead of counting; only the selected columns are read
+        Set<CarField> fields = filterDto.getFields() != null ? filterDto.getFields() : EnumSet.allOf(CarField.class);
+        Slice<CarEntity> carEntitySlice = carRepository.findSliceProjected(specification, fields, pageable);
+        List<Car> cars = carEntitySlice.map(carEntityMapper::toDomain).getContent();
+        boolean hasNext = carEntitySlice.hasNext();
         
-        // Convert to domain models
-        return carEntityPage.map(carEntityMapper::toDomain);
+        // Last page reached from a known offset: the total is exact without a count query
+        if (!hasNext && (!cars.isEmpty() || pageable.getOffset() == 0) && filterDto.getCountMode() != CountMode.NONE) {
+            return PageResponseDto.of(cars, pageable, false, pageable.getOffset() + cars.size(), CountMode.EXACT);
+        }
+        
+        return switch (filterDto.getCountMode()) {
+            case NONE -> PageResponseDto.of(cars, pageable, hasNext, null, CountMode.NONE);
+            case EXACT -> PageResponseDto.of(cars, pageable, hasNext, carRepository.count(specification), CountMode.EXACT);
+            case CACHED -> PageResponseDto.of(cars, pageable, hasNext,
+                    carCountCache.getOrCompute(filterDto.criteriaKey(), () -> carRepository.count(specification)),
+                    CountMode.CACHED);
+            case ESTIMATED -> estimatedPage(filterDto, cars, pageable, hasNext, specification);
+        };
+    }
+    
+    private PageResponseDto<Car> estimatedPage(CarFilterDto filterDto, List<Car> cars, Pageable pageable, boolean hasNext,
+                                               Specification<CarEntity> specification) {
+        long seen = pageable.getOffset() + cars.size() + (hasNext ? 1 : 0);
+        
+        // Table statistics for unfiltered listings, the planner's row estimate for the filter otherwise
+        OptionalLong estimate = filterDto.hasCriteria()
+                ? carRepository.estimateCount(specification)
+                : carRepository.estimateCount();
+        if (estimate.isPresent()) {
+            return PageResponseDto.of(cars, pageable, hasNext, Math.max(estimate.getAsLong(), seen), CountMode.ESTIMATED);
+        }
+        
+        // No statistics yet: never fall back to counting, an existing cached total or hasNext only
+        Long cached = carCountCache.getIfPresent(filterDto.criteriaKey());
+        if (cached != null) {
+            return PageResponseDto.of(cars, pageable, hasNext, cached, CountMode.CACHED);
+        }
+        return PageResponseDto.of(cars, pageable, hasNext, null, CountMode.NONE);
     }
     
-    public List<Car> getAllCars() {
-        return carRepository.findAll().stream()
+    public List<Car> getAllCars(Set<CarField> fields) {
+        List<CarEntity> entities = fields == null
+                ? carRepository.findAll()
+                : carRepository.findAllProjected(null, fields, Pageable.unpaged());
+        return entities.stream()
                 .map(carEntityMapper::toDomain)
                 .toList();
     }
@@ -0,0 +1,154 @@
+package com.comparcar.service;
+
+import com.comparcar.dto.AggregateDto;
+import com.comparcar.dto.SnapshotInfoDto;
+import com.comparcar.exception.ConflictException;
+import com.comparcar.model.CarEntity;
+import com.comparcar.model.CarField;
+import com.comparcar.repository.CarRepository;
+import com.comparcar.snapshot.CarSnapshotQuery;
+import com.comparcar.snapshot.CarSnapshotReader;
+import com.comparcar.snapshot.CarSnapshotWriter;
+import com.comparcar.snapshot.SnapshotDimension;
+import com.comparcar.snapshot.SnapshotMeasure;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Dumps the catalog into a columnar file so analytics aggregates run against memory-mapped columns
+// instead of the primary database
+@Slf4j
+@Service
+public class CarSnapshotService {
+
+    private static final String FILE_NAME = "cars.snapshot";
+
+    private final CarRepository carRepository;
+    private final Path file;
+    private final CarSnapshotWriter writer = new CarSnapshotWriter();
+    private final AtomicReference<CarSnapshotReader> current = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final TransactionTemplate snapshotTransaction;
+
+    public CarSnapshotService(CarRepository carRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${comparcar.snapshot.directory:snapshots}") Path directory) {
+        this.carRepository = carRepository;
+        this.file = directory.resolve(FILE_NAME);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @PostConstruct
+    void openExisting() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            current.set(CarSnapshotReader.open(file));
+            log.info("Opened car snapshot {} with {} rows", file, current.get().getRowCount());
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable car snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Rejects a second rebuild before it opens a transaction, so waiting callers never hold a connection
+    public SnapshotInfoDto refresh() {
+        return tryRefresh().orElseThrow(() -> new ConflictException("A car snapshot rebuild is already running"));
+    }
+
+    @Scheduled(cron = "${comparcar.snapshot.cron:-}")
+    void scheduledRefresh() {
+        if (tryRefresh().isEmpty()) {
+            log.info("Skipping scheduled car snapshot, a rebuild is already running");
+        }
+    }
+
+    private Optional<SnapshotInfoDto> tryRefresh() {
+        if (!refreshLock.tryLock()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(snapshotTransaction.execute(status -> write()));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Count and scan share one repeatable read transaction, so the file matches a single point in time
+    private SnapshotInfoDto write() {
+        long total = carRepository.count();
+        if (total > CarSnapshotWriter.MAX_ROWS) {
+            throw new IllegalStateException("Catalog has " + total + " cars, snapshots support up to " + CarSnapshotWriter.MAX_ROWS);
+        }
+
+        long started = System.nanoTime();
+        try (Stream<CarEntity> cars = carRepository.streamAllProjected(EnumSet.allOf(CarField.class))) {
+            writer.write(file, (int) total, cars.iterator(), Instant.now());
+            swap(CarSnapshotReader.open(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write car snapshot " + file, e);
+        }
+
+        SnapshotInfoDto info = toInfo(current.get());
+        log.info("Wrote car snapshot {} with {} rows in {} ms", file, info.getRows(), (System.nanoTime() - started) / 1_000_000);
+        return info;
+    }
+
+    public Optional<SnapshotInfoDto> getSnapshotInfo() {
+        return Optional.ofNullable(current.get()).map(this::toInfo);
+    }
+
+    public List<AggregateDto> aggregate(SnapshotDimension dimension, SnapshotMeasure measure) {
+        CarSnapshotReader reader = current.get();
+        if (reader == null) {
+            throw new RuntimeException("No car snapshot available, create one with POST /analytics/snapshot");
+        }
+        return CarSnapshotQuery.aggregate(reader, dimension, measure);
+    }
+
+    @PreDestroy
+    void close() {
+        swap(null);
+    }
+
+    // Readers still scanning the previous file keep working, its mappings outlive the closed channel
+    private void swap(CarSnapshotReader next) {
+        CarSnapshotReader previous = current.getAndSet(next);
+        if (previous != null) {
+            try {
+                previous.close();
+            } catch (IOException e) {
+                log.warn("Failed to close car snapshot {}: {}", previous.getPath(), e.getMessage());
+            }
+        }
+    }
+
+    private SnapshotInfoDto toInfo(CarSnapshotReader reader) {
+        return SnapshotInfoDto.builder()
+                .path(reader.getPath().toAbsolutePath().toString())
+                .rows(reader.getRowCount())
+                .createdAt(reader.getCreatedAt())
+                .sizeBytes(reader.getSizeBytes())
+                .build();
+    }
+}
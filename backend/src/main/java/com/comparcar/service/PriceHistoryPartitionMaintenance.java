@@ -0,0 +1,27 @@
+package com.comparcar.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Keeps monthly car_price_history partitions created ahead of time; the table has no
+// default partition, so a missing month would fail every car write
+@Slf4j
+@Component
+@Profile("partitioned")
+@RequiredArgsConstructor
+public class PriceHistoryPartitionMaintenance {
+
+    private static final int MONTHS_AHEAD = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Scheduled(cron = "${comparcar.history.partition-maintenance-cron:0 0 3 * * *}")
+    public void ensurePartitions() {
+        jdbcTemplate.execute("SELECT ensure_price_history_partitions(" + MONTHS_AHEAD + ")");
+        log.debug("Ensured car_price_history partitions {} months ahead", MONTHS_AHEAD);
+    }
+}
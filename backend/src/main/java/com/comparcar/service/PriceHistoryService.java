@@ -0,0 +1,137 @@
+package com.comparcar.service;
+
+import com.comparcar.dto.PriceHistoryEntryDto;
+import com.comparcar.dto.PriceTrendPointDto;
+import com.comparcar.event.CarSavedEvent;
+import com.comparcar.model.Car;
+import com.comparcar.model.CarPriceHistoryEntity;
+import com.comparcar.model.PendingModelSampleEntity;
+import com.comparcar.model.PriceRollupEntity;
+import com.comparcar.model.RollupGranularity;
+import com.comparcar.model.RollupScope;
+import com.comparcar.repository.CarPriceHistoryRepository;
+import com.comparcar.repository.PendingModelSampleRepository;
+import com.comparcar.repository.PriceRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class PriceHistoryService {
+
+    // Rollup buckets are calendar days and weeks in UTC
+    private static final ZoneOffset ROLLUP_ZONE = ZoneOffset.UTC;
+    private static final int MODEL_FOLD_BATCH_SIZE = 5_000;
+
+    private final CarPriceHistoryRepository carPriceHistoryRepository;
+    private final PriceRollupRepository priceRollupRepository;
+    private final PendingModelSampleRepository pendingModelSampleRepository;
+
+    // Synchronous, so the history, car rollups and pending model sample commit or roll back with the car write
+    @EventListener
+    public void onCarSaved(CarSavedEvent event) {
+        record(event.car(), Instant.now());
+    }
+
+    public void record(Car car, Instant recordedAt) {
+        CarPriceHistoryEntity entry = new CarPriceHistoryEntity();
+        entry.setCarId(car.getId());
+        entry.setRecordedAt(recordedAt);
+        entry.setPrice(car.getPrice());
+        entry.setMileage(car.getMileage());
+        carPriceHistoryRepository.save(entry);
+
+        LocalDate day = LocalDate.ofInstant(recordedAt, ROLLUP_ZONE);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            LocalDate bucketStart = granularity.bucketStart(day);
+            priceRollupRepository.accumulate(RollupScope.CAR.name(), car.getId().toString(),
+                    granularity.name(), bucketStart, car.getPrice(), car.getMileage());
+        }
+        // Every write of a model would otherwise queue on the same two rollup rows until commit,
+        // so the write only appends a sample and foldModelSamples updates the model buckets
+        if (car.getModel() != null) {
+            PendingModelSampleEntity sample = new PendingModelSampleEntity();
+            sample.setModelKey(modelKey(car.getModel()));
+            sample.setDay(day);
+            sample.setPrice(car.getPrice());
+            sample.setMileage(car.getMileage());
+            pendingModelSampleRepository.save(sample);
+        }
+    }
+
+    // Each batch commits on its own, so model rollup rows are locked only for one short statement
+    @Scheduled(fixedDelayString = "${comparcar.price-history.model-fold-interval:PT5S}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void foldModelSamples() {
+        int buckets;
+        do {
+            buckets = priceRollupRepository.foldPendingModelSamples(MODEL_FOLD_BATCH_SIZE);
+        } while (buckets > 0);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PriceHistoryEntryDto> getHistory(Long carId, Instant from, Instant to) {
+        return carPriceHistoryRepository.findByCarIdAndRecordedAtBetweenOrderByRecordedAt(carId, from, to).stream()
+                .map(entry -> PriceHistoryEntryDto.builder()
+                        .recordedAt(entry.getRecordedAt())
+                        .price(entry.getPrice())
+                        .mileage(entry.getMileage())
+                        .build())
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PriceTrendPointDto> getCarTrend(Long carId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        return getTrend(RollupScope.CAR, carId.toString(), granularity, from, to);
+    }
+
+    // Lags car writes by up to the fold interval
+    @Transactional(readOnly = true)
+    public List<PriceTrendPointDto> getModelTrend(String model, RollupGranularity granularity, LocalDate from, LocalDate to) {
+        return getTrend(RollupScope.MODEL, modelKey(model), granularity, from, to);
+    }
+
+    private List<PriceTrendPointDto> getTrend(RollupScope scope, String scopeKey, RollupGranularity granularity,
+                                              LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Trend start date must not be after end date");
+        }
+        // Widen the start so the bucket containing it is included
+        return priceRollupRepository
+                .findByScopeAndScopeKeyAndGranularityAndBucketStartBetweenOrderByBucketStart(
+                        scope, scopeKey, granularity, granularity.bucketStart(from), to).stream()
+                .map(this::toTrendPoint)
+                .toList();
+    }
+
+    private PriceTrendPointDto toTrendPoint(PriceRollupEntity rollup) {
+        BigDecimal samples = BigDecimal.valueOf(rollup.getSampleCount());
+        return PriceTrendPointDto.builder()
+                .bucketStart(rollup.getBucketStart())
+                .samples(rollup.getSampleCount())
+                .minPrice(rollup.getPriceMin())
+                .avgPrice(rollup.getPriceSum().divide(samples, 2, RoundingMode.HALF_UP))
+                .maxPrice(rollup.getPriceMax())
+                .minMileage(rollup.getMileageMin())
+                .avgMileage(Math.round((double) rollup.getMileageSum() / rollup.getSampleCount()))
+                .maxMileage(rollup.getMileageMax())
+                .build();
+    }
+
+    private String modelKey(String model) {
+        return model.trim().toLowerCase(Locale.ROOT);
+    }
+}
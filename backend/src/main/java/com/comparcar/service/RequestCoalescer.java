@@ -0,0 +1,76 @@
+package com.comparcar.service;
+
+import com.comparcar.exception.RequestTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Single-flight execution: concurrent calls with an equal key share the result of the first one
+@Component
+public class RequestCoalescer {
+
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    public RequestCoalescer(@Value("${comparcar.coalescing.timeout:5s}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(Object key, Callable<V> computation) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return (V) await(existing);
+        }
+
+        // This caller leads and computes on its own thread
+        try {
+            V result = computation.call();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } catch (Exception e) {
+            RuntimeException wrapped = new RuntimeException(e.getMessage(), e);
+            future.completeExceptionally(wrapped);
+            throw wrapped;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Object await(CompletableFuture<Object> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new RequestTimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for an identical in-flight request");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestTimeoutException("Interrupted while waiting for an identical in-flight request");
+        } catch (ExecutionException e) {
+            // Followers see the leader's failure as their own
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.comparcar.service;
+
+import com.comparcar.dto.SavedSearchDto;
+import com.comparcar.event.CarSavedEvent;
+import com.comparcar.mapper.SavedSearchMapper;
+import com.comparcar.model.SavedSearchEntity;
+import com.comparcar.notification.NotificationSink;
+import com.comparcar.notification.SavedSearchNotification;
+import com.comparcar.repository.SavedSearchRepository;
+import com.comparcar.search.SavedSearchIndex;
+import com.comparcar.search.SavedSearchPredicate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SavedSearchService {
+
+    private final SavedSearchRepository savedSearchRepository;
+    private final SavedSearchMapper savedSearchMapper;
+    private final NotificationSink notificationSink;
+
+    private final SavedSearchIndex index = new SavedSearchIndex();
+    // Display data for notifications, kept next to the index so matching never hits the database
+    private final Map<Long, SavedSearchDto> searches = new ConcurrentHashMap<>();
+
+    // Re-read window before the last seen change; covers commit lag and clock skew between instances
+    @Value("${comparcar.saved-search.sync-overlap:5m}")
+    private Duration syncOverlap;
+
+    @Value("${comparcar.saved-search.tombstone-retention:1d}")
+    private Duration tombstoneRetention;
+
+    // Latest updated_at applied to the index, null until the initial load
+    private volatile Instant syncedUpTo;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadIndex() {
+        // Read before the rows, changes committed during the load are picked up by the next sync
+        Instant latest = savedSearchRepository.findLatestUpdate().orElse(Instant.EPOCH);
+        savedSearchRepository.findAllByDeletedAtIsNull().forEach(entity -> addToIndex(savedSearchMapper.toDto(entity)));
+        syncedUpTo = latest;
+        log.info("Indexed {} saved searches", index.size());
+    }
+
+    // Other instances create and delete searches too; applying their changes is idempotent
+    @Scheduled(fixedDelayString = "${comparcar.saved-search.sync-interval:PT10S}")
+    @Transactional(readOnly = true)
+    public void syncIndex() {
+        Instant watermark = syncedUpTo;
+        if (watermark == null) {
+            return;
+        }
+        Instant latest = watermark;
+        for (SavedSearchEntity entity : savedSearchRepository.findAllByUpdatedAtAfter(watermark.minus(syncOverlap))) {
+            if (entity.getDeletedAt() != null) {
+                removeFromIndex(entity.getId());
+            } else {
+                addToIndex(savedSearchMapper.toDto(entity));
+            }
+            if (entity.getUpdatedAt().isAfter(latest)) {
+                latest = entity.getUpdatedAt();
+            }
+        }
+        syncedUpTo = latest;
+    }
+
+    @Scheduled(fixedRateString = "${comparcar.saved-search.tombstone-purge-interval:PT1H}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = savedSearchRepository.purgeDeletedBefore(Instant.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.debug("Purged {} saved search tombstones", purged);
+        }
+    }
+
+    public SavedSearchDto createSavedSearch(SavedSearchDto savedSearchDto) {
+        // Rejects contradictory ranges before anything is stored
+        new SavedSearchPredicate(0, savedSearchDto.getCriteria());
+
+        SavedSearchEntity entity = savedSearchMapper.toEntity(savedSearchDto);
+        SavedSearchDto saved = savedSearchMapper.toDto(savedSearchRepository.save(entity));
+        addToIndex(saved);
+        return saved;
+    }
+
+    public List<SavedSearchDto> getSavedSearches() {
+        return savedSearchRepository.findAllByDeletedAtIsNull().stream()
+                .map(savedSearchMapper::toDto)
+                .toList();
+    }
+
+    public Optional<SavedSearchDto> getSavedSearchById(Long id) {
+        return savedSearchRepository.findByIdAndDeletedAtIsNull(id)
+                .map(savedSearchMapper::toDto);
+    }
+
+    // Soft delete, the tombstone tells other instances to drop the search from their index
+    public void deleteSavedSearch(Long id) {
+        SavedSearchEntity entity = savedSearchRepository.findByIdAndDeletedAtIsNull(id)
+                .orElseThrow(() -> new RuntimeException("Saved search not found with id: " + id));
+        Instant now = Instant.now();
+        entity.setDeletedAt(now);
+        entity.setUpdatedAt(now);
+        savedSearchRepository.save(entity);
+        removeFromIndex(id);
+    }
+
+    // Runs once the car write is committed, so searches are never notified about rolled back changes
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarSaved(CarSavedEvent event) {
+        for (SavedSearchPredicate match : index.match(event.car())) {
+            SavedSearchDto savedSearch = searches.get(match.getId());
+            if (savedSearch == null) {
+                continue;
+            }
+            notificationSink.deliver(new SavedSearchNotification(
+                    savedSearch.getId(), savedSearch.getName(), savedSearch.getSubscriber(), event.car()));
+        }
+    }
+
+    private void addToIndex(SavedSearchDto savedSearch) {
+        searches.put(savedSearch.getId(), savedSearch);
+        index.add(new SavedSearchPredicate(savedSearch.getId(), savedSearch.getCriteria()));
+    }
+
+    private void removeFromIndex(Long id) {
+        index.remove(id);
+        searches.remove(id);
+    }
+}
@@ -0,0 +1,54 @@
+package com.comparcar.snapshot;
+
+import com.comparcar.dto.AggregateDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Group-by aggregates computed with one sequential pass over two mapped columns
+public final class CarSnapshotQuery {
+
+    private CarSnapshotQuery() {
+    }
+
+    public static List<AggregateDto> aggregate(CarSnapshotReader reader, SnapshotDimension dimension, SnapshotMeasure measure) {
+        int groups = dimension.cardinality(reader);
+        long[] counts = new long[groups];
+        double[] sums = new double[groups];
+        double[] mins = new double[groups];
+        double[] maxs = new double[groups];
+        int[] sampleRows = new int[groups];
+
+        int rows = reader.getRowCount();
+        for (int row = 0; row < rows; row++) {
+            int code = dimension.code(reader, row);
+            double value = measure.value(reader, row);
+            if (counts[code]++ == 0) {
+                mins[code] = value;
+                maxs[code] = value;
+                sampleRows[code] = row;
+            } else {
+                mins[code] = Math.min(mins[code], value);
+                maxs[code] = Math.max(maxs[code], value);
+            }
+            sums[code] += value;
+        }
+
+        List<AggregateDto> result = new ArrayList<>();
+        for (int code = 0; code < groups; code++) {
+            if (counts[code] == 0) {
+                continue;
+            }
+            result.add(AggregateDto.builder()
+                    .group(dimension.label(reader, code, sampleRows[code]))
+                    .count(counts[code])
+                    .min(mins[code])
+                    .avg(sums[code] / counts[code])
+                    .max(maxs[code])
+                    .build());
+        }
+        result.sort(Comparator.comparing(AggregateDto::getGroup));
+        return result;
+    }
+}
@@ -0,0 +1,180 @@
+package com.comparcar.snapshot;
+
+import com.comparcar.model.BodyType;
+import com.comparcar.model.FuelType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+// Read-only view over a snapshot file; every column is a separate memory mapping read in place
+public final class CarSnapshotReader implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int rowCount;
+    private final Instant createdAt;
+    private final long sizeBytes;
+    private final ByteBuffer[] columns = new ByteBuffer[SnapshotFormat.COLUMN_COUNT];
+    private final String[] models;
+    private final BodyType[] bodyTypes;
+    private final FuelType[] fuelTypes;
+
+    private CarSnapshotReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            this.sizeBytes = channel.size();
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SnapshotFormat.HEADER_SIZE)
+                    .order(SnapshotFormat.BYTE_ORDER);
+            if (header.getInt() != SnapshotFormat.MAGIC) {
+                throw new IOException(path + " is not a car snapshot");
+            }
+            int version = header.getInt();
+            if (version != SnapshotFormat.VERSION) {
+                throw new IOException("Unsupported car snapshot version " + version);
+            }
+            this.rowCount = header.getInt();
+            if (header.getInt() != SnapshotFormat.COLUMN_COUNT) {
+                throw new IOException("Unexpected column count in " + path);
+            }
+            this.createdAt = Instant.ofEpochMilli(header.getLong());
+
+            for (SnapshotColumn column : SnapshotColumn.values()) {
+                long offset = header.getLong();
+                columns[column.ordinal()] = channel
+                        .map(FileChannel.MapMode.READ_ONLY, offset, (long) rowCount * column.width())
+                        .order(SnapshotFormat.BYTE_ORDER);
+            }
+
+            long dictionaryOffset = header.getLong();
+            ByteBuffer dictionaries = channel
+                    .map(FileChannel.MapMode.READ_ONLY, dictionaryOffset, sizeBytes - dictionaryOffset)
+                    .order(SnapshotFormat.BYTE_ORDER);
+            this.models = readDictionary(dictionaries);
+            this.bodyTypes = resolve(readDictionary(dictionaries), BodyType.class, BodyType.OTHER);
+            this.fuelTypes = resolve(readDictionary(dictionaries), FuelType.class, FuelType.OTHER);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static CarSnapshotReader open(Path path) throws IOException {
+        return new CarSnapshotReader(path);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public long id(int row) {
+        return columns[SnapshotColumn.ID.ordinal()].getLong(row * Long.BYTES);
+    }
+
+    public int modelCode(int row) {
+        return columns[SnapshotColumn.MODEL.ordinal()].getInt(row * Integer.BYTES);
+    }
+
+    public String model(int row) {
+        return models[modelCode(row)];
+    }
+
+    public int modelCount() {
+        return models.length;
+    }
+
+    public String modelName(int code) {
+        return models[code];
+    }
+
+    public int manufacturingYear(int row) {
+        return columns[SnapshotColumn.MANUFACTURING_YEAR.ordinal()].getShort(row * Short.BYTES);
+    }
+
+    public double engineVolume(int row) {
+        return columns[SnapshotColumn.ENGINE_VOLUME.ordinal()].getShort(row * Short.BYTES) / 10.0;
+    }
+
+    public int bodyTypeCode(int row) {
+        return columns[SnapshotColumn.BODY_TYPE.ordinal()].get(row);
+    }
+
+    public BodyType bodyType(int row) {
+        return bodyTypes[bodyTypeCode(row)];
+    }
+
+    public int fuelTypeCode(int row) {
+        return columns[SnapshotColumn.FUEL_TYPE.ordinal()].get(row);
+    }
+
+    public FuelType fuelType(int row) {
+        return fuelTypes[fuelTypeCode(row)];
+    }
+
+    public int trunkSize(int row) {
+        return columns[SnapshotColumn.TRUNK_SIZE.ordinal()].getShort(row * Short.BYTES);
+    }
+
+    public double fuelConsumption(int row) {
+        return columns[SnapshotColumn.FUEL_CONSUMPTION.ordinal()].getShort(row * Short.BYTES) / 10.0;
+    }
+
+    public double averageServicePrice(int row) {
+        return columns[SnapshotColumn.AVERAGE_SERVICE_PRICE.ordinal()].getInt(row * Integer.BYTES) / 100.0;
+    }
+
+    public double price(int row) {
+        return columns[SnapshotColumn.PRICE.ordinal()].getLong(row * Long.BYTES) / 100.0;
+    }
+
+    public int mileage(int row) {
+        return columns[SnapshotColumn.MILEAGE.ordinal()].getInt(row * Integer.BYTES);
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Mappings stay valid until garbage collected, closing only releases the descriptor
+        channel.close();
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer) {
+        String[] entries = new String[buffer.getInt()];
+        for (int i = 0; i < entries.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            entries[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return entries;
+    }
+
+    // Codes are resolved by name, so reordering enum constants does not break older snapshots
+    private static <E extends Enum<E>> E[] resolve(String[] names, Class<E> type, E fallback) {
+        @SuppressWarnings("unchecked")
+        E[] resolved = (E[]) java.lang.reflect.Array.newInstance(type, names.length);
+        for (int i = 0; i < names.length; i++) {
+            try {
+                resolved[i] = Enum.valueOf(type, names[i]);
+            } catch (IllegalArgumentException e) {
+                resolved[i] = fallback;
+            }
+        }
+        return resolved;
+    }
+}
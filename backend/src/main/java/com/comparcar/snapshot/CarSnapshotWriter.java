@@ -0,0 +1,150 @@
+package com.comparcar.snapshot;
+
+import com.comparcar.model.BodyType;
+import com.comparcar.model.CarEntity;
+import com.comparcar.model.FuelType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Writes cars in a single pass straight into memory-mapped column regions, sized from the expected row count
+public class CarSnapshotWriter {
+
+    // Widest column must fit into a single mapped buffer
+    public static final int MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+
+    public int write(Path target, int expectedRows, Iterator<CarEntity> cars, Instant createdAt) throws IOException {
+        if (expectedRows < 0 || expectedRows > MAX_ROWS) {
+            throw new IllegalArgumentException("Snapshot row count must be between 0 and " + MAX_ROWS + ", got " + expectedRows);
+        }
+        SnapshotColumn[] columns = SnapshotColumn.values();
+        long[] offsets = new long[columns.length];
+        long position = SnapshotFormat.align(SnapshotFormat.HEADER_SIZE);
+        for (SnapshotColumn column : columns) {
+            offsets[column.ordinal()] = position;
+            position = SnapshotFormat.align(position + (long) expectedRows * column.width());
+        }
+        long dictionaryOffset = position;
+
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            int rows;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer[] buffers = new MappedByteBuffer[columns.length];
+                for (SnapshotColumn column : columns) {
+                    buffers[column.ordinal()] = channel.map(FileChannel.MapMode.READ_WRITE,
+                            offsets[column.ordinal()], (long) expectedRows * column.width());
+                    buffers[column.ordinal()].order(SnapshotFormat.BYTE_ORDER);
+                }
+
+                Map<String, Integer> modelCodes = new HashMap<>();
+                List<String> models = new ArrayList<>();
+                rows = 0;
+                while (rows < expectedRows && cars.hasNext()) {
+                    writeRow(buffers, rows, cars.next(), modelCodes, models);
+                    rows++;
+                }
+                for (MappedByteBuffer buffer : buffers) {
+                    buffer.force();
+                }
+
+                writeFully(channel, dictionaries(models), dictionaryOffset);
+                writeFully(channel, header(rows, createdAt, offsets, dictionaryOffset), 0);
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return rows;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeRow(MappedByteBuffer[] buffers, int row, CarEntity car, Map<String, Integer> modelCodes, List<String> models) {
+        int modelCode = modelCodes.computeIfAbsent(car.getModel(), model -> {
+            models.add(model);
+            return models.size() - 1;
+        });
+        buffers[SnapshotColumn.ID.ordinal()].putLong(row * Long.BYTES, car.getId());
+        buffers[SnapshotColumn.MODEL.ordinal()].putInt(row * Integer.BYTES, modelCode);
+        buffers[SnapshotColumn.MANUFACTURING_YEAR.ordinal()].putShort(row * Short.BYTES, car.getManufacturingYear().shortValue());
+        buffers[SnapshotColumn.ENGINE_VOLUME.ordinal()].putShort(row * Short.BYTES, (short) scaled(car.getEngineVolume(), 1));
+        buffers[SnapshotColumn.BODY_TYPE.ordinal()].put(row, (byte) car.getBodyType().ordinal());
+        buffers[SnapshotColumn.FUEL_TYPE.ordinal()].put(row, (byte) car.getFuelType().ordinal());
+        buffers[SnapshotColumn.TRUNK_SIZE.ordinal()].putShort(row * Short.BYTES, car.getTrunkSize().shortValue());
+        buffers[SnapshotColumn.FUEL_CONSUMPTION.ordinal()].putShort(row * Short.BYTES, (short) scaled(car.getFuelConsumption(), 1));
+        buffers[SnapshotColumn.AVERAGE_SERVICE_PRICE.ordinal()].putInt(row * Integer.BYTES, scaled(car.getAverageServicePrice(), 2));
+        buffers[SnapshotColumn.PRICE.ordinal()].putLong(row * Long.BYTES, car.getPrice().movePointRight(2).longValue());
+        buffers[SnapshotColumn.MILEAGE.ordinal()].putInt(row * Integer.BYTES, car.getMileage());
+    }
+
+    private void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private int scaled(BigDecimal value, int scale) {
+        return value.movePointRight(scale).intValue();
+    }
+
+    private ByteBuffer header(int rows, Instant createdAt, long[] offsets, long dictionaryOffset) {
+        ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_SIZE).order(SnapshotFormat.BYTE_ORDER);
+        header.putInt(SnapshotFormat.MAGIC);
+        header.putInt(SnapshotFormat.VERSION);
+        header.putInt(rows);
+        header.putInt(SnapshotFormat.COLUMN_COUNT);
+        header.putLong(createdAt.toEpochMilli());
+        for (long offset : offsets) {
+            header.putLong(offset);
+        }
+        header.putLong(dictionaryOffset);
+        return header.flip();
+    }
+
+    private ByteBuffer dictionaries(List<String> models) {
+        List<List<String>> dictionaries = List.of(
+                models,
+                Arrays.stream(BodyType.values()).map(Enum::name).toList(),
+                Arrays.stream(FuelType.values()).map(Enum::name).toList());
+
+        List<byte[]> encoded = new ArrayList<>();
+        int size = 0;
+        for (List<String> dictionary : dictionaries) {
+            size += Integer.BYTES;
+            for (String entry : dictionary) {
+                byte[] bytes = entry.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                size += Integer.BYTES + bytes.length;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(SnapshotFormat.BYTE_ORDER);
+        int next = 0;
+        for (List<String> dictionary : dictionaries) {
+            buffer.putInt(dictionary.size());
+            for (int i = 0; i < dictionary.size(); i++) {
+                byte[] bytes = encoded.get(next++);
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,31 @@
+package com.comparcar.snapshot;
+
+// Fixed-width columns of a catalog snapshot, in file order. Decimals are stored as scaled integers,
+// enums and models as codes into the dictionaries at the end of the file.
+enum SnapshotColumn {
+    ID(Long.BYTES),
+    MODEL(Integer.BYTES),
+    MANUFACTURING_YEAR(Short.BYTES),
+    // Tenths of a liter
+    ENGINE_VOLUME(Short.BYTES),
+    BODY_TYPE(Byte.BYTES),
+    FUEL_TYPE(Byte.BYTES),
+    TRUNK_SIZE(Short.BYTES),
+    // Tenths of a liter per 100 km
+    FUEL_CONSUMPTION(Short.BYTES),
+    // Euro cents
+    AVERAGE_SERVICE_PRICE(Integer.BYTES),
+    // Euro cents
+    PRICE(Long.BYTES),
+    MILEAGE(Integer.BYTES);
+
+    private final int width;
+
+    SnapshotColumn(int width) {
+        this.width = width;
+    }
+
+    int width() {
+        return width;
+    }
+}
@@ -0,0 +1,63 @@
+package com.comparcar.snapshot;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Attributes a snapshot can be grouped by; each maps a row to a small dense code so groups fit in arrays
+public enum SnapshotDimension {
+    BODY_TYPE("bodyType"),
+    FUEL_TYPE("fuelType"),
+    MODEL("model"),
+    MANUFACTURING_YEAR("manufacturingYear");
+
+    // Years are stored relative to this base, which keeps the group array at 256 slots
+    private static final int YEAR_BASE = 1900;
+    private static final int YEAR_SLOTS = 256;
+
+    private final String attribute;
+
+    SnapshotDimension(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    int code(CarSnapshotReader reader, int row) {
+        return switch (this) {
+            case BODY_TYPE -> reader.bodyTypeCode(row);
+            case FUEL_TYPE -> reader.fuelTypeCode(row);
+            case MODEL -> reader.modelCode(row);
+            case MANUFACTURING_YEAR -> Math.floorMod(reader.manufacturingYear(row) - YEAR_BASE, YEAR_SLOTS);
+        };
+    }
+
+    int cardinality(CarSnapshotReader reader) {
+        return switch (this) {
+            case BODY_TYPE, FUEL_TYPE -> 256;
+            case MODEL -> reader.modelCount();
+            case MANUFACTURING_YEAR -> YEAR_SLOTS;
+        };
+    }
+
+    // Label of a group code; body and fuel codes are resolved through the row that produced them
+    String label(CarSnapshotReader reader, int code, int sampleRow) {
+        return switch (this) {
+            case BODY_TYPE -> reader.bodyType(sampleRow).name();
+            case FUEL_TYPE -> reader.fuelType(sampleRow).name();
+            case MODEL -> reader.modelName(code);
+            case MANUFACTURING_YEAR -> String.valueOf(reader.manufacturingYear(sampleRow));
+        };
+    }
+
+    public static SnapshotDimension fromString(String value) {
+        return Arrays.stream(values())
+                .filter(dimension -> dimension.attribute.equalsIgnoreCase(value.trim())
+                        || dimension.name().equals(value.trim().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid groupBy '" + value + "'. Supported: "
+                        + Arrays.stream(values()).map(SnapshotDimension::getAttribute).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,30 @@
+package com.comparcar.snapshot;
+
+import java.nio.ByteOrder;
+
+/**
+ * Binary layout shared by {@link CarSnapshotWriter} and {@link CarSnapshotReader}, little endian:
+ *
+ * <pre>
+ * int   magic, int version, int rowCount, int columnCount, long createdAtEpochMillis
+ * long  offset of each column, in SnapshotColumn order
+ * long  offset of the dictionary section
+ * ...   column data, each column 8-byte aligned, rowCount * width bytes
+ * ...   dictionaries MODEL, BODY_TYPE, FUEL_TYPE: int count, then per entry int length + UTF-8 bytes
+ * </pre>
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x43435331; // "CCS1"
+    static final int VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    static final int COLUMN_COUNT = SnapshotColumn.values().length;
+    static final int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES + COLUMN_COUNT * Long.BYTES + Long.BYTES;
+
+    private SnapshotFormat() {
+    }
+
+    static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+}
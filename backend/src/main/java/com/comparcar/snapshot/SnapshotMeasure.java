@@ -0,0 +1,47 @@
+package com.comparcar.snapshot;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+// Numeric attributes a snapshot can aggregate
+public enum SnapshotMeasure {
+    PRICE("price"),
+    MILEAGE("mileage"),
+    ENGINE_VOLUME("engineVolume"),
+    FUEL_CONSUMPTION("fuelConsumption"),
+    AVERAGE_SERVICE_PRICE("averageServicePrice"),
+    TRUNK_SIZE("trunkSize"),
+    MANUFACTURING_YEAR("manufacturingYear");
+
+    private final String attribute;
+
+    SnapshotMeasure(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    double value(CarSnapshotReader reader, int row) {
+        return switch (this) {
+            case PRICE -> reader.price(row);
+            case MILEAGE -> reader.mileage(row);
+            case ENGINE_VOLUME -> reader.engineVolume(row);
+            case FUEL_CONSUMPTION -> reader.fuelConsumption(row);
+            case AVERAGE_SERVICE_PRICE -> reader.averageServicePrice(row);
+            case TRUNK_SIZE -> reader.trunkSize(row);
+            case MANUFACTURING_YEAR -> reader.manufacturingYear(row);
+        };
+    }
+
+    public static SnapshotMeasure fromString(String value) {
+        return Arrays.stream(values())
+                .filter(measure -> measure.attribute.equalsIgnoreCase(value.trim())
+                        || measure.name().equals(value.trim().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid measure '" + value + "'. Supported: "
+                        + Arrays.stream(values()).map(SnapshotMeasure::getAttribute).collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,18 @@
+-- One-off migration of an existing unpartitioned cars table (created by ddl-auto: update)
+-- to the layout in schema-partitioned.sql.
+--
+-- 1. Stop the backend and run step 1 below.
+-- 2. Start the backend once with the "partitioned" profile, which creates the partitioned cars table.
+-- 3. Run step 3 below, then drop cars_unpartitioned when satisfied.
+
+-- Step 1
+ALTER TABLE cars RENAME TO cars_unpartitioned;
+
+-- Step 3
+-- INSERT INTO cars (id, model, manufacturing_year, engine_volume, body_type, fuel_type, trunk_size,
+--                   fuel_consumption, average_service_price, price, mileage)
+-- SELECT id, model, manufacturing_year, engine_volume, body_type, fuel_type, trunk_size,
+--        fuel_consumption, average_service_price, price, mileage
+-- FROM cars_unpartitioned;
+-- SELECT setval(pg_get_serial_sequence('cars', 'id'), (SELECT COALESCE(MAX(id), 1) FROM cars));
+-- ANALYZE cars;
@@ -0,0 +1,35 @@
+-- One-off migration of an existing unpartitioned car_price_history table (created by ddl-auto: update)
+-- to the monthly partitions in schema-partitioned.sql. Run it together with migrate-cars-to-partitioned.sql.
+--
+-- 1. Stop the backend and run step 1 below.
+-- 2. Start the backend once with the "partitioned" profile, which creates the partitioned table
+--    and the partitions from the current month on.
+-- 3. Run step 3 below, then drop car_price_history_unpartitioned when satisfied.
+
+-- Step 1
+ALTER TABLE car_price_history RENAME TO car_price_history_unpartitioned;
+
+-- Step 3
+-- DO $$
+-- DECLARE
+--     month_start TIMESTAMP;
+-- BEGIN
+--     -- Partitions for the months before the ones the backend created
+--     FOR month_start IN
+--         SELECT generate_series(date_trunc('month', MIN(recorded_at) AT TIME ZONE 'UTC'),
+--                                date_trunc('month', now() AT TIME ZONE 'UTC'), INTERVAL '1 month')
+--         FROM car_price_history_unpartitioned
+--     LOOP
+--         EXECUTE format(
+--             'CREATE TABLE IF NOT EXISTS %I PARTITION OF car_price_history FOR VALUES FROM (%L) TO (%L)',
+--             'car_price_history_' || to_char(month_start, 'YYYY_MM'),
+--             month_start AT TIME ZONE 'UTC',
+--             (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+--     END LOOP;
+-- END
+-- $$;
+-- INSERT INTO car_price_history (id, car_id, recorded_at, price, mileage)
+-- SELECT id, car_id, recorded_at, price, mileage
+-- FROM car_price_history_unpartitioned;
+-- SELECT setval(pg_get_serial_sequence('car_price_history', 'id'), (SELECT COALESCE(MAX(id), 1) FROM car_price_history));
+-- ANALYZE car_price_history;
@@ -0,0 +1,142 @@
+-- Schema for the "partitioned" profile, where Hibernate does not manage DDL.
+-- Statements end with @@ because function bodies contain semicolons.
+
+-- A plain table left by ddl-auto: update would make the statements below fail with "not partitioned"
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('cars') AND relkind = 'r') THEN
+        RAISE EXCEPTION 'cars is not partitioned, migrate it with db/migrate-cars-to-partitioned.sql';
+    END IF;
+END
+$$@@
+
+-- List partitioned by fuel type, so CarSpecification queries filtering on fuelType only scan
+-- one partition, and a whole fuel type can be bulk loaded or removed by swapping its partition.
+-- The primary key has to include the partition key.
+CREATE TABLE IF NOT EXISTS cars (
+    id BIGSERIAL,
+    model VARCHAR(255) NOT NULL,
+    manufacturing_year INTEGER NOT NULL,
+    engine_volume NUMERIC(3, 1) NOT NULL,
+    body_type VARCHAR(255) NOT NULL,
+    fuel_type VARCHAR(255) NOT NULL,
+    trunk_size INTEGER NOT NULL,
+    fuel_consumption NUMERIC(4, 1) NOT NULL,
+    average_service_price NUMERIC(8, 2) NOT NULL,
+    price NUMERIC(10, 2) NOT NULL,
+    mileage INTEGER NOT NULL,
+    PRIMARY KEY (id, fuel_type)
+) PARTITION BY LIST (fuel_type)@@
+
+CREATE TABLE IF NOT EXISTS cars_gasoline PARTITION OF cars FOR VALUES IN ('GASOLINE')@@
+CREATE TABLE IF NOT EXISTS cars_diesel PARTITION OF cars FOR VALUES IN ('DIESEL')@@
+CREATE TABLE IF NOT EXISTS cars_hybrid PARTITION OF cars FOR VALUES IN ('HYBRID')@@
+CREATE TABLE IF NOT EXISTS cars_electric PARTITION OF cars FOR VALUES IN ('ELECTRIC')@@
+CREATE TABLE IF NOT EXISTS cars_plug_in_hybrid PARTITION OF cars FOR VALUES IN ('PLUG_IN_HYBRID')@@
+CREATE TABLE IF NOT EXISTS cars_hydrogen PARTITION OF cars FOR VALUES IN ('HYDROGEN')@@
+CREATE TABLE IF NOT EXISTS cars_lpg PARTITION OF cars FOR VALUES IN ('LPG')@@
+CREATE TABLE IF NOT EXISTS cars_cng PARTITION OF cars FOR VALUES IN ('CNG')@@
+CREATE TABLE IF NOT EXISTS cars_ethanol PARTITION OF cars FOR VALUES IN ('ETHANOL')@@
+CREATE TABLE IF NOT EXISTS cars_biodiesel PARTITION OF cars FOR VALUES IN ('BIODIESEL')@@
+CREATE TABLE IF NOT EXISTS cars_other PARTITION OF cars FOR VALUES IN ('OTHER')@@
+CREATE TABLE IF NOT EXISTS cars_default PARTITION OF cars DEFAULT@@
+
+-- Created on the parent, so every partition (including attached ones) gets them
+CREATE INDEX IF NOT EXISTS idx_cars_id ON cars (id)@@
+CREATE INDEX IF NOT EXISTS idx_cars_manufacturing_year ON cars (manufacturing_year)@@
+CREATE INDEX IF NOT EXISTS idx_cars_price ON cars (price)@@
+
+CREATE TABLE IF NOT EXISTS saved_searches (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    subscriber VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    model VARCHAR(255),
+    manufacturing_year_from INTEGER,
+    manufacturing_year_to INTEGER,
+    engine_volume_from DOUBLE PRECISION,
+    engine_volume_to DOUBLE PRECISION,
+    body_type VARCHAR(255),
+    fuel_type VARCHAR(255),
+    trunk_size_from INTEGER,
+    trunk_size_to INTEGER,
+    fuel_consumption_from DOUBLE PRECISION,
+    fuel_consumption_to DOUBLE PRECISION,
+    average_service_price_from DOUBLE PRECISION,
+    average_service_price_to DOUBLE PRECISION,
+    price_from DOUBLE PRECISION,
+    price_to DOUBLE PRECISION,
+    mileage_from INTEGER,
+    mileage_to INTEGER,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    deleted_at TIMESTAMP(6) WITH TIME ZONE
+)@@
+
+-- Databases created before the saved search change feed
+ALTER TABLE saved_searches ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE@@
+ALTER TABLE saved_searches ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6) WITH TIME ZONE@@
+CREATE INDEX IF NOT EXISTS idx_saved_searches_updated_at ON saved_searches (updated_at)@@
+
+-- A plain table left by ddl-auto: update would make the statements below no-ops or fail later
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE oid = to_regclass('car_price_history') AND relkind = 'r') THEN
+        RAISE EXCEPTION 'car_price_history is not partitioned, migrate it with db/migrate-price-history-to-partitioned.sql';
+    END IF;
+END
+$$@@
+
+-- Append-only history, one partition per calendar month (UTC) so old months can be
+-- detached or dropped without touching recent data
+CREATE TABLE IF NOT EXISTS car_price_history (
+    id BIGSERIAL,
+    car_id BIGINT NOT NULL,
+    recorded_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    price NUMERIC(10, 2) NOT NULL,
+    mileage INTEGER NOT NULL,
+    PRIMARY KEY (id, recorded_at)
+) PARTITION BY RANGE (recorded_at)@@
+
+CREATE INDEX IF NOT EXISTS idx_car_price_history_car_time ON car_price_history (car_id, recorded_at)@@
+
+CREATE OR REPLACE FUNCTION ensure_price_history_partitions(months_ahead INTEGER) RETURNS VOID AS $$
+DECLARE
+    current_month TIMESTAMP := date_trunc('month', now() AT TIME ZONE 'UTC');
+    month_start TIMESTAMP;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        month_start := current_month + make_interval(months => i);
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF car_price_history FOR VALUES FROM (%L) TO (%L)',
+            'car_price_history_' || to_char(month_start, 'YYYY_MM'),
+            month_start AT TIME ZONE 'UTC',
+            (month_start + INTERVAL '1 month') AT TIME ZONE 'UTC');
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql@@
+
+SELECT ensure_price_history_partitions(3)@@
+
+CREATE TABLE IF NOT EXISTS car_price_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    scope VARCHAR(10) NOT NULL,
+    scope_key VARCHAR(100) NOT NULL,
+    granularity VARCHAR(10) NOT NULL,
+    bucket_start DATE NOT NULL,
+    sample_count BIGINT NOT NULL,
+    price_min NUMERIC(10, 2) NOT NULL,
+    price_max NUMERIC(10, 2) NOT NULL,
+    price_sum NUMERIC(18, 2) NOT NULL,
+    mileage_min INTEGER NOT NULL,
+    mileage_max INTEGER NOT NULL,
+    mileage_sum BIGINT NOT NULL,
+    CONSTRAINT uk_car_price_rollups_bucket UNIQUE (scope, scope_key, granularity, bucket_start)
+)@@
+
+CREATE TABLE IF NOT EXISTS pending_model_samples (
+    id BIGSERIAL PRIMARY KEY,
+    model_key VARCHAR(100) NOT NULL,
+    sample_day DATE NOT NULL,
+    price NUMERIC(10, 2) NOT NULL,
+    mileage INTEGER NOT NULL
+)@@
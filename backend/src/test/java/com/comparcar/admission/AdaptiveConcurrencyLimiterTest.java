@@ -0,0 +1,61 @@
+package com.comparcar.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void burstOfSlowCompletionsBacksOffOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 150, TARGET);
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        // All 50 were in flight during the same stall
+        for (int i = 0; i < 50; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(250), false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(45);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void requestsStartedAfterABackoffCanBackOffAgain() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 2, 150, TARGET);
+        limiter.tryAcquire();
+        limiter.release(0, true);
+        assertThat(limiter.getLimit()).isEqualTo(45);
+
+        Thread.sleep(5);
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(1), true);
+        assertThat(limiter.getLimit()).isEqualTo(40);
+    }
+
+    @Test
+    void growsOnlyWhileTheLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 150, TARGET);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 10; i++) {
+                limiter.tryAcquire();
+            }
+            for (int i = 0; i < 10; i++) {
+                limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+            }
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+}
@@ -0,0 +1,38 @@
+package com.comparcar.admission;
+
+import com.comparcar.config.AdmissionControlProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(new AdmissionControlProperties(), new ObjectMapper());
+
+    @Test
+    void snapshotRebuildIsBulk() {
+        assertThat(filter.classify(request("POST", "/analytics/snapshot"))).isEqualTo(EndpointLane.BULK);
+    }
+
+    @Test
+    void snapshotReadsAreNotBulk() {
+        assertThat(filter.classify(request("GET", "/analytics/aggregates"))).isEqualTo(EndpointLane.QUERY);
+        assertThat(filter.classify(request("GET", "/analytics/snapshot"))).isEqualTo(EndpointLane.LOOKUP);
+    }
+
+    @Test
+    void carRequestsKeepTheirLanes() {
+        assertThat(filter.classify(request("GET", "/cars/all"))).isEqualTo(EndpointLane.BULK);
+        assertThat(filter.classify(request("GET", "/cars/42"))).isEqualTo(EndpointLane.LOOKUP);
+        assertThat(filter.classify(request("POST", "/cars"))).isEqualTo(EndpointLane.WRITE);
+        assertThat(filter.classify(request("GET", "/admin/partitions"))).isNull();
+    }
+
+    private static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api" + path);
+        request.setContextPath("/api");
+        return request;
+    }
+}
@@ -0,0 +1,145 @@
+package com.comparcar.admission;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency of single car lookups while bulk and query requests spike, against a running backend.
+// Run with ./gradlew admissionBenchmark (optional args: base URL, seconds per phase, spike clients).
+// Not a test, JUnit does not pick it up.
+public final class AdmissionSpikeBenchmark {
+
+    private static final int LOOKUP_CLIENTS = 4;
+    private static final String[] FUEL_TYPES = {"GASOLINE", "DIESEL", "HYBRID", "ELECTRIC", "LPG", "CNG"};
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+
+    private AdmissionSpikeBenchmark(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8090/api";
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int spikeClients = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        AdmissionSpikeBenchmark benchmark = new AdmissionSpikeBenchmark(baseUrl);
+        List<Long> ids = benchmark.carIds();
+        benchmark.run("warm-up", ids, Math.max(1, seconds / 4), 0);
+        benchmark.run("baseline", ids, seconds, 0);
+        benchmark.run("spike", ids, seconds, spikeClients);
+    }
+
+    private List<Long> carIds() throws Exception {
+        HttpResponse<String> response = client.send(get("/cars?size=100"), HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode car : new ObjectMapper().readTree(response.body()).path("content")) {
+            ids.add(car.path("id").asLong());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No cars at " + baseUrl + "/cars, seed the database first");
+        }
+        return ids;
+    }
+
+    private void run(String phase, List<Long> ids, int seconds, int spikeClients) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Long> lookupNanos = Collections.synchronizedList(new ArrayList<>());
+        Map<Integer, LongAdder> lookupErrors = new ConcurrentHashMap<>();
+        Map<String, LongAdder> spikeOutcomes = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(LOOKUP_CLIENTS + spikeClients);
+        for (int i = 0; i < LOOKUP_CLIENTS; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = send(get("/cars/" + id));
+                    int status = response == null ? -1 : response.statusCode();
+                    if (status == 200) {
+                        lookupNanos.add(System.nanoTime() - start);
+                    } else {
+                        lookupErrors.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    }
+                }
+            });
+        }
+        // Half the spike scans the whole catalog, the other half runs exactly counted filtered listings
+        for (int i = 0; i < spikeClients; i++) {
+            boolean bulk = i % 2 == 0;
+            executor.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    String fuelType = FUEL_TYPES[ThreadLocalRandom.current().nextInt(FUEL_TYPES.length)];
+                    String path = bulk
+                            ? "/cars/all?fields=id,price"
+                            : "/cars?fuelType=" + fuelType + "&sortBy=price&countMode=exact";
+                    HttpResponse<Void> response = send(get(path));
+                    int status = response == null ? -1 : response.statusCode();
+                    spikeOutcomes.computeIfAbsent((bulk ? "bulk " : "query ") + status, key -> new LongAdder()).increment();
+                    // Shed clients come back after Retry-After, like a well-behaved client would
+                    if (status == 503) {
+                        sleepQuietly(response.headers().firstValueAsLong("Retry-After").orElse(1) * 1000);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+
+        List<Long> sorted = new ArrayList<>(lookupNanos);
+        Collections.sort(sorted);
+        System.out.printf(Locale.ROOT, "%-9s lookups %6d  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  errors %s%n",
+                phase, sorted.size(), percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 100),
+                new TreeMap<>(lookupErrors));
+        if (!spikeOutcomes.isEmpty()) {
+            System.out.println("          spike responses " + new TreeMap<>(spikeOutcomes));
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60)).GET().build();
+    }
+
+    // Null when the request failed or timed out
+    private HttpResponse<Void> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static double percentile(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return Double.NaN;
+        }
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
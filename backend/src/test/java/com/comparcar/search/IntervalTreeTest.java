@@ -0,0 +1,85 @@
+package com.comparcar.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IntervalTreeTest {
+
+    @Test
+    void stabMatchesBruteForceUnderInsertsAndRemoves() {
+        Random random = new Random(7);
+        IntervalTree<Long> tree = new IntervalTree<>();
+        Map<Long, double[]> intervals = new HashMap<>();
+
+        for (long id = 0; id < 5000; id++) {
+            // Coarse grid so many intervals share bounds and ties on the low end are exercised
+            double low = random.nextInt(200);
+            double high = low + random.nextInt(50);
+            tree.insert(low, high, id, id);
+            intervals.put(id, new double[]{low, high});
+
+            if (id % 3 == 0) {
+                long removed = random.nextInt((int) id + 1);
+                double[] interval = intervals.remove(removed);
+                assertThat(tree.remove(interval == null ? 0 : interval[0], removed)).isEqualTo(interval != null);
+            }
+            if (id % 250 == 0) {
+                assertStabbing(tree, intervals, random);
+            }
+        }
+        assertThat(tree.size()).isEqualTo(intervals.size());
+        assertStabbing(tree, intervals, random);
+
+        new ArrayList<>(intervals.keySet()).forEach(id -> assertThat(tree.remove(intervals.remove(id)[0], id)).isTrue());
+        assertThat(tree.isEmpty()).isTrue();
+    }
+
+    @Test
+    void boundsAreInclusive() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, 1, "closed");
+        tree.insert(Double.NEGATIVE_INFINITY, 10, 2, "open below");
+        tree.insert(20, Double.POSITIVE_INFINITY, 3, "open above");
+
+        assertThat(stab(tree, 10)).containsExactlyInAnyOrder("closed", "open below");
+        assertThat(stab(tree, 20)).containsExactlyInAnyOrder("closed", "open above");
+        assertThat(stab(tree, 15)).containsExactly("closed");
+    }
+
+    @Test
+    void rejectsInvertedInterval() {
+        assertThatThrownBy(() -> new IntervalTree<String>().insert(2, 1, 1, "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertStabbing(IntervalTree<Long> tree, Map<Long, double[]> intervals, Random random) {
+        for (int i = 0; i < 50; i++) {
+            double point = random.nextInt(260) - 5 + (random.nextBoolean() ? 0.5 : 0);
+            Set<Long> expected = new HashSet<>();
+            intervals.forEach((id, interval) -> {
+                if (interval[0] <= point && point <= interval[1]) {
+                    expected.add(id);
+                }
+            });
+            List<Long> actual = stab(tree, point);
+            assertThat(actual).doesNotHaveDuplicates();
+            assertThat(new HashSet<>(actual)).as("stab %s", point).isEqualTo(expected);
+        }
+    }
+
+    private static <T> List<T> stab(IntervalTree<T> tree, double point) {
+        List<T> values = new ArrayList<>();
+        tree.stab(point, values::add);
+        return values;
+    }
+}
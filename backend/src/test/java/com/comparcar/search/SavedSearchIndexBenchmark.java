@@ -0,0 +1,64 @@
+package com.comparcar.search;
+
+import com.comparcar.model.Car;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Matching throughput of the index against brute force, run with ./gradlew savedSearchBenchmark
+// (optional args: searches, cars). Not a test, JUnit does not pick it up.
+public final class SavedSearchIndexBenchmark {
+
+    private static final int BRUTE_FORCE_CARS = 200;
+    private static final int WARMUP_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int searchCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int carCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+
+        for (SavedSearchWorkload.Mix mix : SavedSearchWorkload.Mix.values()) {
+            SavedSearchWorkload workload = new SavedSearchWorkload(42, mix);
+            List<SavedSearchPredicate> searches = new ArrayList<>(searchCount);
+            for (long id = 0; id < searchCount; id++) {
+                searches.add(new SavedSearchPredicate(id, workload.criteria()));
+            }
+            List<Car> cars = new ArrayList<>(carCount);
+            for (long id = 0; id < carCount; id++) {
+                cars.add(workload.car(id));
+            }
+
+            long start = System.nanoTime();
+            SavedSearchIndex index = new SavedSearchIndex();
+            searches.forEach(index::add);
+            double buildMs = (System.nanoTime() - start) / 1e6;
+
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                cars.forEach(index::match);
+            }
+            long matches = 0;
+            start = System.nanoTime();
+            for (Car car : cars) {
+                matches += index.match(car).size();
+            }
+            double indexNs = (System.nanoTime() - start) / (double) carCount;
+
+            long bruteForceMatches = 0;
+            start = System.nanoTime();
+            for (Car car : cars.subList(0, Math.min(BRUTE_FORCE_CARS, carCount))) {
+                for (SavedSearchPredicate search : searches) {
+                    if (search.matches(car)) {
+                        bruteForceMatches++;
+                    }
+                }
+            }
+            double bruteForceNs = (System.nanoTime() - start) / (double) Math.min(BRUTE_FORCE_CARS, carCount);
+
+            System.out.printf(Locale.ROOT, "%-12s %,d searches, build %.0f ms, %.0f matches/event%n",
+                    mix, searchCount, buildMs, matches / (double) carCount);
+            System.out.printf(Locale.ROOT, "  index        %9.1f us/event %9.0f events/s%n", indexNs / 1000, 1e9 / indexNs);
+            System.out.printf(Locale.ROOT, "  brute force  %9.1f us/event %9.0f events/s (%d matches)%n",
+                    bruteForceNs / 1000, 1e9 / bruteForceNs, bruteForceMatches);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.comparcar.search;
+
+import com.comparcar.dto.CarFilterDto;
+import com.comparcar.model.BodyType;
+import com.comparcar.model.Car;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SavedSearchIndexTest {
+
+    @ParameterizedTest
+    @EnumSource(SavedSearchWorkload.Mix.class)
+    void matchesBruteForce(SavedSearchWorkload.Mix mix) {
+        SavedSearchWorkload workload = new SavedSearchWorkload(42, mix);
+        SavedSearchIndex index = new SavedSearchIndex();
+        List<SavedSearchPredicate> searches = new ArrayList<>();
+        for (long id = 0; id < 20_000; id++) {
+            SavedSearchPredicate search = new SavedSearchPredicate(id, workload.criteria());
+            searches.add(search);
+            index.add(search);
+        }
+
+        List<Car> cars = new ArrayList<>();
+        for (long id = 0; id < 300; id++) {
+            cars.add(workload.car(id));
+        }
+        assertMatchesBruteForce(index, searches, cars);
+
+        // Remove every other search and replace a few of the rest under the same id
+        for (long id = 0; id < searches.size(); id += 2) {
+            assertThat(index.remove(id)).isTrue();
+        }
+        List<SavedSearchPredicate> remaining = new ArrayList<>();
+        for (SavedSearchPredicate search : searches) {
+            if (search.getId() % 2 == 0) {
+                continue;
+            }
+            if (search.getId() % 7 == 0) {
+                search = new SavedSearchPredicate(search.getId(), workload.criteria());
+                index.add(search);
+            }
+            remaining.add(search);
+        }
+        assertThat(index.size()).isEqualTo(remaining.size());
+        assertMatchesBruteForce(index, remaining, cars);
+    }
+
+    @Test
+    void modelOnlySearchesMatchCaseInsensitiveSubstrings() {
+        SavedSearchIndex index = new SavedSearchIndex();
+        index.add(new SavedSearchPredicate(1, criteria("GOLF")));
+        index.add(new SavedSearchPredicate(2, criteria("olf g")));
+        index.add(new SavedSearchPredicate(3, criteria("polo")));
+        index.add(new SavedSearchPredicate(4, new CarFilterDto()));
+
+        Car car = Car.builder().model("VW Golf GTI").bodyType(BodyType.HATCHBACK).price(BigDecimal.TEN).build();
+        assertThat(ids(index.match(car))).containsExactlyInAnyOrder(1L, 2L, 4L);
+
+        index.remove(1);
+        assertThat(ids(index.match(car))).containsExactlyInAnyOrder(2L, 4L);
+        assertThat(ids(index.match(Car.builder().bodyType(BodyType.SEDAN).build()))).containsExactly(4L);
+    }
+
+    @Test
+    void rejectsEmptyRanges() {
+        CarFilterDto criteria = new CarFilterDto();
+        criteria.setPriceFrom(20000.0);
+        criteria.setPriceTo(10000.0);
+        assertThatThrownBy(() -> new SavedSearchPredicate(1, criteria)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertMatchesBruteForce(SavedSearchIndex index, List<SavedSearchPredicate> searches, List<Car> cars) {
+        for (Car car : cars) {
+            List<SavedSearchPredicate> matches = index.match(car);
+            Set<Long> expected = searches.stream()
+                    .filter(search -> search.matches(car))
+                    .map(SavedSearchPredicate::getId)
+                    .collect(Collectors.toSet());
+            assertThat(ids(matches)).as("car %s", car.getId()).doesNotHaveDuplicates();
+            assertThat(Set.copyOf(ids(matches))).as("car %s", car.getId()).isEqualTo(expected);
+        }
+    }
+
+    private static CarFilterDto criteria(String model) {
+        CarFilterDto criteria = new CarFilterDto();
+        criteria.setModel(model);
+        return criteria;
+    }
+
+    private static List<Long> ids(List<SavedSearchPredicate> matches) {
+        return matches.stream().map(SavedSearchPredicate::getId).toList();
+    }
+}
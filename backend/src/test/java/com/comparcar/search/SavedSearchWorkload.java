@@ -0,0 +1,98 @@
+package com.comparcar.search;
+
+import com.comparcar.dto.CarFilterDto;
+import com.comparcar.model.BodyType;
+import com.comparcar.model.Car;
+import com.comparcar.model.FuelType;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+// Random saved searches and car events shared by the index tests and the benchmark
+final class SavedSearchWorkload {
+
+    enum Mix {
+        // Most searches pin body type and a price band
+        TYPICAL(0.8, 0.6, 0.95, 0.2),
+        // Fewer categorical and range criteria, so many more searches match each car
+        BROAD(0.5, 0.4, 0.7, 0.2),
+        // Half of the searches filter by model only
+        MODEL_HEAVY(0.3, 0.3, 0.4, 0.6);
+
+        private final double bodyTypeShare;
+        private final double fuelTypeShare;
+        private final double priceShare;
+        private final double modelShare;
+
+        Mix(double bodyTypeShare, double fuelTypeShare, double priceShare, double modelShare) {
+            this.bodyTypeShare = bodyTypeShare;
+            this.fuelTypeShare = fuelTypeShare;
+            this.priceShare = priceShare;
+            this.modelShare = modelShare;
+        }
+    }
+
+    private static final String[] MODELS = {"golf", "passat", "octavia", "corolla", "civic", "model 3", "a4", "320d", "focus", "clio"};
+    private static final BodyType[] BODY_TYPES = BodyType.values();
+    private static final FuelType[] FUEL_TYPES = FuelType.values();
+
+    private final Random random;
+    private final Mix mix;
+
+    SavedSearchWorkload(long seed, Mix mix) {
+        this.random = new Random(seed);
+        this.mix = mix;
+    }
+
+    CarFilterDto criteria() {
+        CarFilterDto criteria = new CarFilterDto();
+        if (random.nextDouble() < mix.bodyTypeShare) {
+            criteria.setBodyType(BODY_TYPES[random.nextInt(BODY_TYPES.length)]);
+        }
+        if (random.nextDouble() < mix.fuelTypeShare) {
+            criteria.setFuelType(FUEL_TYPES[random.nextInt(FUEL_TYPES.length)]);
+        }
+        if (random.nextDouble() < mix.priceShare) {
+            double low = 1000 + random.nextDouble() * 60000;
+            criteria.setPriceFrom(low);
+            criteria.setPriceTo(low + 2000 + random.nextDouble() * 20000);
+        }
+        if (random.nextDouble() < 0.5 * mix.priceShare) {
+            int year = 1995 + random.nextInt(28);
+            criteria.setManufacturingYearFrom(year);
+            if (random.nextBoolean()) {
+                criteria.setManufacturingYearTo(year + random.nextInt(6));
+            }
+        }
+        if (random.nextDouble() < 0.4 * mix.priceShare) {
+            criteria.setMileageTo(20000 + random.nextInt(200000));
+        }
+        if (random.nextDouble() < 0.1) {
+            double low = 1.0 + random.nextInt(30) / 10.0;
+            criteria.setEngineVolumeFrom(low);
+            criteria.setEngineVolumeTo(low + random.nextInt(20) / 10.0);
+        }
+        if (random.nextDouble() < mix.modelShare) {
+            String model = MODELS[random.nextInt(MODELS.length)];
+            // Partial and differently cased models, matched as case-insensitive substrings
+            criteria.setModel(random.nextBoolean() ? model.toUpperCase() : model.substring(0, 1 + random.nextInt(model.length())));
+        }
+        return criteria;
+    }
+
+    Car car(long id) {
+        return Car.builder()
+                .id(id)
+                .model(MODELS[random.nextInt(MODELS.length)] + " " + (char) ('a' + random.nextInt(26)))
+                .manufacturingYear(1995 + random.nextInt(30))
+                .engineVolume(BigDecimal.valueOf(10 + random.nextInt(30), 1))
+                .bodyType(BODY_TYPES[random.nextInt(BODY_TYPES.length)])
+                .fuelType(FUEL_TYPES[random.nextInt(FUEL_TYPES.length)])
+                .trunkSize(200 + random.nextInt(600))
+                .fuelConsumption(BigDecimal.valueOf(40 + random.nextInt(80), 1))
+                .averageServicePrice(BigDecimal.valueOf(200 + random.nextInt(2000)))
+                .price(BigDecimal.valueOf(1000 + random.nextInt(80000)))
+                .mileage(random.nextInt(300000))
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.comparcar.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarCountCacheTest {
+
+    @Test
+    void entriesExpireAfterTheTtl() throws InterruptedException {
+        CarCountCache cache = new CarCountCache(Duration.ofMillis(20));
+        cache.getOrCompute("diesel", () -> 42);
+        assertThat(cache.getIfPresent("diesel")).isEqualTo(42);
+
+        Thread.sleep(30);
+        assertThat(cache.getIfPresent("diesel")).isNull();
+    }
+
+    @Test
+    void fullCacheStillCachesOnceOldEntriesExpire() throws InterruptedException {
+        CarCountCache cache = new CarCountCache(Duration.ofMillis(500));
+        for (int i = 0; i < CarCountCache.MAX_ENTRIES; i++) {
+            cache.getOrCompute(i, () -> 1);
+        }
+        cache.getOrCompute("over capacity", () -> 2);
+        assertThat(cache.getIfPresent("over capacity")).isNull();
+
+        // None of the old keys is read again, the full map has to purge them by itself
+        Thread.sleep(600);
+        cache.getOrCompute("after expiry", () -> 3);
+        assertThat(cache.getIfPresent("after expiry")).isEqualTo(3);
+    }
+
+    @Test
+    void invalidateDropsCachedCounts() {
+        CarCountCache cache = new CarCountCache(Duration.ofMinutes(1));
+        cache.getOrCompute("diesel", () -> 42);
+
+        cache.invalidate();
+
+        assertThat(cache.getIfPresent("diesel")).isNull();
+        assertThat(cache.getOrCompute("diesel", () -> 43)).isEqualTo(43);
+    }
+
+    @Test
+    void generationAdvancesOnWriteAndAgainOnCommit() {
+        CarCountCache cache = new CarCountCache(Duration.ofMinutes(1));
+        long before = cache.generation();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate();
+            assertThat(cache.generation()).isEqualTo(before + 1);
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            assertThat(cache.generation()).isEqualTo(before + 2);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
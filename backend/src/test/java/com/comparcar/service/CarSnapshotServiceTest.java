@@ -0,0 +1,63 @@
+package com.comparcar.service;
+
+import com.comparcar.dto.SnapshotInfoDto;
+import com.comparcar.exception.ConflictException;
+import com.comparcar.repository.CarRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CarSnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentRefreshIsRejectedBeforeOpeningATransaction() throws Exception {
+        CountDownLatch inTransaction = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            inTransaction.countDown();
+            release.await();
+            return new SimpleTransactionStatus();
+        });
+        CarRepository carRepository = mock(CarRepository.class);
+        when(carRepository.streamAllProjected(any())).thenAnswer(invocation -> Stream.empty());
+        CarSnapshotService service = new CarSnapshotService(carRepository, transactionManager, directory);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<SnapshotInfoDto> first = executor.submit(service::refresh);
+            assertThat(inTransaction.await(5, SECONDS)).isTrue();
+
+            assertThatThrownBy(service::refresh).isInstanceOf(ConflictException.class);
+            verify(transactionManager, times(1)).getTransaction(any());
+
+            release.countDown();
+            assertThat(first.get(5, SECONDS).getRows()).isZero();
+            // The lock is released once the first rebuild finishes
+            assertThat(service.refresh().getRows()).isZero();
+        } finally {
+            executor.shutdownNow();
+            service.close();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.comparcar.service;
+
+import com.comparcar.exception.RequestTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestCoalescerTest {
+
+    private static final int WAITERS = 5;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waitersShareTheLeadersResult() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<String>> results = startConcurrently(coalescer, release, () -> {
+            calls.incrementAndGet();
+            release.await();
+            return "cars";
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("cars");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void leadersExceptionReachesEveryWaiter() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+
+        List<Future<String>> results = startConcurrently(coalescer, release, () -> {
+            calls.incrementAndGet();
+            release.await();
+            throw failure;
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void checkedExceptionsReachWaitersWrapped() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startConcurrently(coalescer, release, () -> {
+            release.await();
+            throw new IOException("serialization failed");
+        });
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .cause().isInstanceOf(RuntimeException.class)
+                    .hasMessage("serialization failed");
+        }
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void waiterGivesUpAfterTheTimeout() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofMillis(50));
+        CountDownLatch leading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> coalescer.execute("key", () -> {
+            leading.countDown();
+            release.await();
+            return "late";
+        }));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> coalescer.execute("key", () -> "own result"))
+                .isInstanceOf(RequestTimeoutException.class);
+
+        // The leader is unaffected and still cleans up after itself
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("late");
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    @Test
+    void completedKeysAreComputedAgain() {
+        RequestCoalescer coalescer = new RequestCoalescer(Duration.ofSeconds(5));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(coalescer.execute("key", calls::incrementAndGet)).isEqualTo(1);
+        assertThatThrownBy(() -> coalescer.execute("key", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).hasMessage("boom");
+        assertThat(coalescer.execute("key", calls::incrementAndGet)).isEqualTo(3);
+        assertThat(coalescer.inFlightCount()).isZero();
+    }
+
+    // Starts a leader blocked on the latch, then waiters with the same key once it holds the flight
+    private <V> List<Future<V>> startConcurrently(RequestCoalescer coalescer, CountDownLatch release,
+                                                  Callable<V> computation) throws InterruptedException {
+        CountDownLatch leading = new CountDownLatch(1);
+        List<Future<V>> results = new ArrayList<>();
+        results.add(executor.submit(() -> coalescer.execute("key", () -> {
+            leading.countDown();
+            return computation.call();
+        })));
+        assertThat(leading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CountDownLatch started = new CountDownLatch(WAITERS);
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return coalescer.execute("key", computation);
+            }));
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // Waiters block inside execute until the leader finishes, give them time to get there
+        Thread.sleep(100);
+        assertThat(release.getCount()).isEqualTo(1);
+        return results;
+    }
+}
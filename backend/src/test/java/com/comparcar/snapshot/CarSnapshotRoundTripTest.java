@@ -0,0 +1,178 @@
+package com.comparcar.snapshot;
+
+import com.comparcar.dto.AggregateDto;
+import com.comparcar.model.BodyType;
+import com.comparcar.model.CarEntity;
+import com.comparcar.model.FuelType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CarSnapshotRoundTripTest {
+
+    private static final List<String> MODELS = List.of("Golf", "Octavia", "Model 3", "Clio", "Škoda Fabia", "Prius", "Mégane");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void everyColumnReadsBackAsWritten() throws IOException {
+        List<CarEntity> cars = generate(5_000, new Random(42));
+        Instant createdAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Path file = directory.resolve("cars.snapshot");
+
+        int written = new CarSnapshotWriter().write(file, cars.size(), cars.iterator(), createdAt);
+
+        assertThat(written).isEqualTo(cars.size());
+        try (CarSnapshotReader reader = CarSnapshotReader.open(file)) {
+            assertThat(reader.getRowCount()).isEqualTo(cars.size());
+            assertThat(reader.getCreatedAt()).isEqualTo(createdAt);
+            for (int row = 0; row < cars.size(); row++) {
+                CarEntity car = cars.get(row);
+                assertThat(reader.id(row)).isEqualTo(car.getId());
+                assertThat(reader.model(row)).isEqualTo(car.getModel());
+                assertThat(reader.manufacturingYear(row)).isEqualTo(car.getManufacturingYear());
+                assertThat(reader.engineVolume(row)).isEqualTo(car.getEngineVolume().doubleValue());
+                assertThat(reader.bodyType(row)).isEqualTo(car.getBodyType());
+                assertThat(reader.fuelType(row)).isEqualTo(car.getFuelType());
+                assertThat(reader.trunkSize(row)).isEqualTo(car.getTrunkSize());
+                assertThat(reader.fuelConsumption(row)).isEqualTo(car.getFuelConsumption().doubleValue());
+                assertThat(reader.averageServicePrice(row)).isEqualTo(car.getAverageServicePrice().doubleValue());
+                assertThat(reader.price(row)).isEqualTo(car.getPrice().doubleValue());
+                assertThat(reader.mileage(row)).isEqualTo(car.getMileage());
+            }
+        }
+    }
+
+    @Test
+    void aggregatesMatchStreamComputation() throws IOException {
+        List<CarEntity> cars = generate(20_000, new Random(7));
+        Path file = directory.resolve("cars.snapshot");
+        new CarSnapshotWriter().write(file, cars.size(), cars.iterator(), Instant.now());
+
+        try (CarSnapshotReader reader = CarSnapshotReader.open(file)) {
+            for (SnapshotDimension dimension : SnapshotDimension.values()) {
+                for (SnapshotMeasure measure : SnapshotMeasure.values()) {
+                    List<AggregateDto> actual = CarSnapshotQuery.aggregate(reader, dimension, measure);
+                    List<AggregateDto> expected = expected(cars, dimension, measure);
+
+                    assertThat(actual).as("%s by %s", measure, dimension).hasSameSizeAs(expected);
+                    for (int i = 0; i < expected.size(); i++) {
+                        AggregateDto a = actual.get(i);
+                        AggregateDto e = expected.get(i);
+                        assertThat(a.getGroup()).isEqualTo(e.getGroup());
+                        assertThat(a.getCount()).as("%s count of %s", dimension, e.getGroup()).isEqualTo(e.getCount());
+                        assertThat(a.getMin()).isEqualTo(e.getMin());
+                        assertThat(a.getMax()).isEqualTo(e.getMax());
+                        assertThat(a.getAvg()).isCloseTo(e.getAvg(), within(1e-6));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void fewerCarsThanExpectedWritesOnlyThoseRows() throws IOException {
+        List<CarEntity> cars = generate(100, new Random(3));
+        Path file = directory.resolve("cars.snapshot");
+
+        int written = new CarSnapshotWriter().write(file, 150, cars.iterator(), Instant.now());
+
+        assertThat(written).isEqualTo(100);
+        try (CarSnapshotReader reader = CarSnapshotReader.open(file)) {
+            assertThat(reader.getRowCount()).isEqualTo(100);
+            assertThat(reader.id(99)).isEqualTo(cars.get(99).getId());
+            assertThat(CarSnapshotQuery.aggregate(reader, SnapshotDimension.FUEL_TYPE, SnapshotMeasure.PRICE)
+                    .stream().mapToLong(AggregateDto::getCount).sum()).isEqualTo(100);
+        }
+    }
+
+    @Test
+    void emptySnapshotHasNoGroups() throws IOException {
+        Path file = directory.resolve("cars.snapshot");
+        new CarSnapshotWriter().write(file, 0, List.<CarEntity>of().iterator(), Instant.now());
+
+        try (CarSnapshotReader reader = CarSnapshotReader.open(file)) {
+            assertThat(reader.getRowCount()).isZero();
+            assertThat(reader.modelCount()).isZero();
+            assertThat(CarSnapshotQuery.aggregate(reader, SnapshotDimension.MODEL, SnapshotMeasure.PRICE)).isEmpty();
+        }
+    }
+
+    private static List<AggregateDto> expected(List<CarEntity> cars, SnapshotDimension dimension, SnapshotMeasure measure) {
+        Map<String, DoubleSummaryStatistics> groups = cars.stream().collect(Collectors.groupingBy(
+                group(dimension), TreeMap::new, Collectors.summarizingDouble(value(measure))));
+        return groups.entrySet().stream()
+                .map(entry -> AggregateDto.builder()
+                        .group(entry.getKey())
+                        .count(entry.getValue().getCount())
+                        .min(entry.getValue().getMin())
+                        .avg(entry.getValue().getAverage())
+                        .max(entry.getValue().getMax())
+                        .build())
+                .sorted(Comparator.comparing(AggregateDto::getGroup))
+                .toList();
+    }
+
+    private static Function<CarEntity, String> group(SnapshotDimension dimension) {
+        return switch (dimension) {
+            case BODY_TYPE -> car -> car.getBodyType().name();
+            case FUEL_TYPE -> car -> car.getFuelType().name();
+            case MODEL -> CarEntity::getModel;
+            case MANUFACTURING_YEAR -> car -> String.valueOf(car.getManufacturingYear());
+        };
+    }
+
+    private static ToDoubleFunction<CarEntity> value(SnapshotMeasure measure) {
+        return switch (measure) {
+            case PRICE -> car -> car.getPrice().doubleValue();
+            case MILEAGE -> CarEntity::getMileage;
+            case ENGINE_VOLUME -> car -> car.getEngineVolume().doubleValue();
+            case FUEL_CONSUMPTION -> car -> car.getFuelConsumption().doubleValue();
+            case AVERAGE_SERVICE_PRICE -> car -> car.getAverageServicePrice().doubleValue();
+            case TRUNK_SIZE -> CarEntity::getTrunkSize;
+            case MANUFACTURING_YEAR -> CarEntity::getManufacturingYear;
+        };
+    }
+
+    // Values span the full range CarEntity validation allows, including the bounds
+    private static List<CarEntity> generate(int count, Random random) {
+        BodyType[] bodyTypes = BodyType.values();
+        FuelType[] fuelTypes = FuelType.values();
+        List<CarEntity> cars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CarEntity car = new CarEntity();
+            car.setId(i == 0 ? Long.MAX_VALUE : 1 + random.nextLong(Long.MAX_VALUE - 1));
+            car.setModel(MODELS.get(random.nextInt(MODELS.size())));
+            car.setManufacturingYear(1900 + random.nextInt(131));
+            car.setEngineVolume(BigDecimal.valueOf(5 + random.nextInt(96), 1));
+            car.setBodyType(bodyTypes[random.nextInt(bodyTypes.length)]);
+            car.setFuelType(fuelTypes[random.nextInt(fuelTypes.length)]);
+            car.setTrunkSize(100 + random.nextInt(2901));
+            car.setFuelConsumption(BigDecimal.valueOf(10 + random.nextInt(291), 1));
+            car.setAverageServicePrice(BigDecimal.valueOf(random.nextInt(1_000_001), 2));
+            car.setPrice(BigDecimal.valueOf(10_000 + random.nextLong(99_990_001), 2));
+            car.setMileage(random.nextInt(1_000_001));
+            cars.add(car);
+        }
+        return cars;
+    }
+}
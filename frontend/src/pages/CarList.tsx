@@ -6,6 +6,9 @@ import { carApi } from '../services/api';
 import { Car, CarFilter, BodyType, FuelType } from '../types/car';
 import toast from 'react-hot-toast';
 
+// Only the columns rendered in the table are requested from the backend
+const LIST_FIELDS = 'id,model,manufacturingYear,engineVolume,bodyType,fuelType,price,mileage';
+
 const CarList = () => {
   const [filters, setFilters] = useState<CarFilter>({
     page: 0,
@@ -17,7 +20,7 @@ const CarList = () => {
 
   const { data: carsData, isLoading, error, refetch } = useQuery({
     queryKey: ['cars', filters],
-    queryFn: () => carApi.getCars(filters),
+    queryFn: () => carApi.getCars({ ...filters, fields: LIST_FIELDS }),
   });
 
   const { data: bodyTypes } = useQuery({
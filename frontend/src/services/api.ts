@@ -24,8 +24,8 @@ export const carApi = {
   },
 
   // Get all cars (without pagination)
-  getAllCars: async (): Promise<Car[]> => {
-    const response = await api.get('/cars/all');
+  getAllCars: async (fields?: string): Promise<Car[]> => {
+    const response = await api.get('/cars/all', { params: fields ? { fields } : undefined });
     return response.data;
   },
 
@@ -71,8 +71,12 @@ export interface CarFilter {
   size?: number;
   sortBy?: string;
   sortDirection?: 'ASC' | 'DESC';
+  fields?: string;
+  countMode?: CountMode;
 }
 
+export type CountMode = 'EXACT' | 'CACHED' | 'ESTIMATED' | 'NONE';
+
 export interface PageResponse<T> {
   content: T[];
   totalElements: number;
@@ -81,4 +85,6 @@ export interface PageResponse<T> {
   number: number;
   first: boolean;
   last: boolean;
+  hasNext?: boolean;
+  countMode?: CountMode;
 } 
\ No newline at end of file
@@ -0,0 +1,112 @@
+#!/bin/bash
+
+# Compares the plain and the fuel type partitioned cars layout on a generated catalog.
+# Usage: ./scripts/partition-benchmark.sh [rows]   (default 10000000)
+# Connects with the usual PG* variables, defaulting to the docker-compose database.
+
+set -e
+
+ROWS=${1:-10000000}
+export PGHOST=${PGHOST:-localhost}
+export PGPORT=${PGPORT:-5433}
+export PGUSER=${PGUSER:-postgres}
+export PGPASSWORD=${PGPASSWORD:-postgres}
+export PGDATABASE=${PGDATABASE:-comparcar}
+
+FUEL_TYPES="'GASOLINE','DIESEL','HYBRID','ELECTRIC','PLUG_IN_HYBRID','HYDROGEN','LPG','CNG','ETHANOL','BIODIESEL','OTHER'"
+
+echo "📦 Generating $ROWS cars in bench_plain and bench_partitioned..."
+psql -q -v ON_ERROR_STOP=1 <<SQL
+DROP SCHEMA IF EXISTS bench_plain CASCADE;
+DROP SCHEMA IF EXISTS bench_partitioned CASCADE;
+CREATE SCHEMA bench_plain;
+CREATE SCHEMA bench_partitioned;
+
+CREATE TABLE bench_plain.cars (
+    id BIGINT PRIMARY KEY, model VARCHAR(255), manufacturing_year INTEGER, engine_volume NUMERIC(3, 1),
+    body_type VARCHAR(255), fuel_type VARCHAR(255), trunk_size INTEGER, fuel_consumption NUMERIC(4, 1),
+    average_service_price NUMERIC(8, 2), price NUMERIC(10, 2), mileage INTEGER
+);
+INSERT INTO bench_plain.cars
+SELECT g, 'Model ' || (g % 500), 1990 + (g % 35), 1.0 + (g % 40) / 10.0,
+       (ARRAY['SEDAN','HATCHBACK','SUV','CROSSOVER','COUPE'])[1 + g % 5],
+       (ARRAY[$FUEL_TYPES])[1 + (hashint4(g::int) & 2147483647) % 11],
+       200 + g % 600, 4.0 + (g % 80) / 10.0, 200 + g % 2000, 1000 + (g * 7919) % 90000, (g * 104729) % 300000
+FROM generate_series(1::bigint, $ROWS) g;
+CREATE INDEX ON bench_plain.cars (manufacturing_year);
+CREATE INDEX ON bench_plain.cars (price);
+
+CREATE TABLE bench_partitioned.cars (LIKE bench_plain.cars) PARTITION BY LIST (fuel_type);
+DO \$\$
+DECLARE fuel TEXT;
+BEGIN
+    FOREACH fuel IN ARRAY ARRAY[$FUEL_TYPES] LOOP
+        EXECUTE format('CREATE TABLE bench_partitioned.%I PARTITION OF bench_partitioned.cars FOR VALUES IN (%L)',
+                       'cars_' || lower(fuel), fuel);
+    END LOOP;
+END
+\$\$;
+ALTER TABLE bench_partitioned.cars ADD PRIMARY KEY (id, fuel_type);
+CREATE INDEX ON bench_partitioned.cars (manufacturing_year);
+CREATE INDEX ON bench_partitioned.cars (price);
+INSERT INTO bench_partitioned.cars SELECT * FROM bench_plain.cars;
+
+VACUUM ANALYZE bench_plain.cars;
+VACUUM ANALYZE bench_partitioned.cars;
+SQL
+
+# Queries in the shape CarSpecification and CarRepositoryCustomImpl generate, plus a multi fuel type
+# IN list, with $n placeholders and their values separated by "|"
+QUERIES=(
+    "SELECT * FROM cars WHERE fuel_type = \$1 ORDER BY id LIMIT 21|'DIESEL'"
+    "SELECT * FROM cars WHERE fuel_type = \$1 AND manufacturing_year >= \$2 ORDER BY price DESC LIMIT 21|'ELECTRIC', 2018"
+    "SELECT count(*) FROM cars WHERE fuel_type = \$1 AND manufacturing_year BETWEEN \$2 AND \$3|'HYBRID', 2010, 2015"
+    "SELECT count(*) FROM cars WHERE fuel_type IN (\$1, \$2)|'LPG', 'CNG'"
+)
+
+explain_time() {
+    psql -qAt -c "$1" | grep -o '"Execution Time": [0-9.]*' | grep -o '[0-9.]*$'
+}
+
+# Query with the values inlined, planned for exactly these values
+literal() {
+    local sql=$2 i=1 value
+    IFS=',' read -ra values <<< "$3"
+    for value in "${values[@]}"; do
+        sql=${sql//\$$i/${value# }}
+        i=$((i + 1))
+    done
+    explain_time "SET search_path TO $1; EXPLAIN (ANALYZE, FORMAT JSON) $sql"
+}
+
+# Query with bound parameters the way Hibernate sends it. Once the JDBC driver switches to a server
+# prepared statement, Postgres may reuse a generic plan that prunes partitions only at executor start.
+generic() {
+    explain_time "SET search_path TO $1; SET plan_cache_mode = force_generic_plan;
+        PREPARE q AS $2; EXPLAIN (ANALYZE, FORMAT JSON) EXECUTE q($3)"
+}
+
+echo ""
+echo "Execution time in ms, literal values and generic plan with bound parameters"
+printf "%-10s %-12s %-10s %-12s %s\n" "plain" "partitioned" "plain" "partitioned" "query"
+printf "%-10s %-12s %-10s %-12s\n" "literal" "literal" "generic" "generic"
+for entry in "${QUERIES[@]}"; do
+    query=${entry%%|*}
+    params=${entry#*|}
+    # Warm-up run so both layouts are measured with a hot cache
+    literal bench_plain "$query" "$params" > /dev/null
+    literal bench_partitioned "$query" "$params" > /dev/null
+    printf "%-10s %-12s %-10s %-12s %s\n" \
+        "$(literal bench_plain "$query" "$params")" "$(literal bench_partitioned "$query" "$params")" \
+        "$(generic bench_plain "$query" "$params")" "$(generic bench_partitioned "$query" "$params")" \
+        "$query ($params)"
+done
+
+echo ""
+echo "🗑️  Bulk delete of all DIESEL cars"
+psql -q -c '\timing on' -c "DELETE FROM bench_plain.cars WHERE fuel_type = 'DIESEL'" | grep Time | sed 's/^/plain DELETE:          /'
+psql -q -c '\timing on' -c "TRUNCATE bench_partitioned.cars_diesel" | grep Time | sed 's/^/partition TRUNCATE:    /'
+
+if [ "$KEEP_BENCH_SCHEMAS" != "1" ]; then
+    psql -q -c "DROP SCHEMA bench_plain CASCADE" -c "DROP SCHEMA bench_partitioned CASCADE"
+fi
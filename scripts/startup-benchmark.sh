@@ -0,0 +1,123 @@
+#!/bin/bash
+
+# Measures backend boot: time from JVM launch to the first successful GET /api/cars, and the
+# resident set size at that moment. Fails when the median exceeds the configured thresholds.
+# Usage: ./scripts/startup-benchmark.sh [runs]   (default 5)
+#   JAR             jar to start (default backend/build/libs/compar-car-backend-0.0.1-SNAPSHOT.jar)
+#   PROFILES        space separated profiles to compare, "default" means none (default "fast")
+#   JAVA_OPTS       extra JVM options, e.g. "-Xshare:on -XX:SharedArchiveFile=app.jsa" for a CDS archive.
+#                   The archive only applies when the jar is started with the path used to record it,
+#                   -Xshare:on makes a mismatch fail instead of silently booting without it.
+#   TOLERANCE_PCT   allowed regression over the measured baseline below (default 25)
+#   MAX_STARTUP_MS  median time to first request threshold, overrides the baseline
+#   MAX_RSS_MB      median startup RSS threshold, overrides the baseline
+# Needs the database from docker-compose with an existing schema, "fast" only validates it.
+
+RUNS=${1:-5}
+JAR=${JAR:-backend/build/libs/compar-car-backend-0.0.1-SNAPSHOT.jar}
+PROFILES=${PROFILES:-fast}
+TOLERANCE_PCT=${TOLERANCE_PCT:-25}
+TIMEOUT_S=${TIMEOUT_S:-120}
+
+# Medians of 5 runs on 1 CPU and 6 GB RAM, Java 17, docker-compose database with 10k cars.
+# Keyed by profile, with "+cds" when JAVA_OPTS use an archive. Re-measure when the hardware changes.
+declare -A BASELINE_MS=([default]=24078 [fast]=23182 [default+cds]=17900 [fast+cds]=15548)
+declare -A BASELINE_RSS_MB=([default]=249 [fast]=242 [default+cds]=247 [fast+cds]=233)
+URL=${URL:-http://localhost:8090/api/cars?size=1}
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ $JAR not found, build it with ./gradlew bootJar in backend/"
+    exit 1
+fi
+
+now_ms() {
+    if [ -n "$EPOCHREALTIME" ]; then
+        local now=${EPOCHREALTIME/[.,]/}
+        echo $((now / 1000))
+    else
+        date +%s%3N
+    fi
+}
+
+median() {
+    sort -n | awk '{ values[NR] = $1 } END { print values[int((NR + 1) / 2)] }'
+}
+
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+# Prints "<ms> <rss kB>" for one boot, or nothing if the backend never answered
+measure() {
+    local profile_opt=""
+    if [ "$1" != "default" ]; then
+        profile_opt="-Dspring.profiles.active=$1"
+    fi
+
+    local start
+    start=$(now_ms)
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS $profile_opt -jar "$JAR" > "$LOG" 2>&1 &
+    local pid=$!
+
+    local deadline=$((start + TIMEOUT_S * 1000))
+    while [ "$(now_ms)" -lt "$deadline" ] && kill -0 "$pid" 2> /dev/null; do
+        if curl -sf -o /dev/null "$URL"; then
+            local elapsed=$(($(now_ms) - start))
+            local rss
+            rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+            echo "$elapsed $rss"
+            break
+        fi
+        sleep 0.05
+    done
+
+    kill "$pid" 2> /dev/null
+    wait "$pid" 2> /dev/null
+}
+
+with_tolerance() {
+    echo $(($1 * (100 + TOLERANCE_PCT) / 100))
+}
+
+FAILED=0
+printf "%-10s %-14s %-14s %s\n" "profile" "median ms" "median RSS MB" "runs (ms)"
+for profile in $PROFILES; do
+    baseline=$profile
+    if [[ "$JAVA_OPTS" == *SharedArchiveFile* ]]; then
+        baseline+="+cds"
+    fi
+    max_ms=${MAX_STARTUP_MS:-${BASELINE_MS[$baseline]:+$(with_tolerance "${BASELINE_MS[$baseline]}")}}
+    max_rss_mb=${MAX_RSS_MB:-${BASELINE_RSS_MB[$baseline]:+$(with_tolerance "${BASELINE_RSS_MB[$baseline]}")}}
+    if [ -z "$max_ms" ] || [ -z "$max_rss_mb" ]; then
+        echo "❌ No baseline for '$baseline', set MAX_STARTUP_MS and MAX_RSS_MB"
+        exit 1
+    fi
+
+    times=()
+    rss=()
+    for ((run = 1; run <= RUNS; run++)); do
+        result=$(measure "$profile")
+        if [ -z "$result" ]; then
+            echo "❌ Backend with profile '$profile' did not answer $URL within ${TIMEOUT_S}s, last log lines:"
+            tail -20 "$LOG"
+            exit 1
+        fi
+        times+=("${result% *}")
+        rss+=("${result#* }")
+    done
+
+    median_ms=$(printf "%s\n" "${times[@]}" | median)
+    median_rss_mb=$(($(printf "%s\n" "${rss[@]}" | median) / 1024))
+    printf "%-10s %-14s %-14s %s\n" "$profile" "$median_ms" "$median_rss_mb" "${times[*]}"
+
+    if [ "$median_ms" -gt "$max_ms" ]; then
+        echo "❌ $baseline: time to first request ${median_ms} ms exceeds ${max_ms} ms"
+        FAILED=1
+    fi
+    if [ "$median_rss_mb" -gt "$max_rss_mb" ]; then
+        echo "❌ $baseline: startup RSS ${median_rss_mb} MB exceeds ${max_rss_mb} MB"
+        FAILED=1
+    fi
+done
+
+exit $FAILED